@@ -0,0 +1,42 @@
+/**
+ * Copyright (C) 2015+ furplag (https://github.com/furplag/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.util.time.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * runs the benchmarks with the allocation profiler ( {@code -prof gc} ) .
+ * <p>
+ * {@code java -jar target/benchmarks.jar [JMH options]} , e.g. {@code java -jar target/benchmarks.jar DateTimeUtilsBenchmark -f 1} .
+ * </p>
+ *
+ * @author furplag
+ */
+public final class Benchmarks {
+
+  /**
+   * {@code Benchmarks} instances should NOT be constructed in standard programming.
+   */
+  private Benchmarks() {}
+
+  public static void main(String[] args) throws Exception {
+    new Runner(new OptionsBuilder().parent(new CommandLineOptions(args)).addProfiler(GCProfiler.class).build()).run();
+  }
+}
@@ -0,0 +1,119 @@
+/**
+ * Copyright (C) 2015+ furplag (https://github.com/furplag/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.util.time.benchmark;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jp.furplag.util.time.DateTimeUtils;
+
+/**
+ * the conversions of {@link DateTimeUtils} for each type of instant.
+ *
+ * @author furplag
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateTimeUtilsBenchmark {
+
+  /** 1996-01-23T12:34:56.789+09:00 */
+  private static final long MILLIS = 822366896789L;
+
+  private static final DateTimeZone ZONE = DateTimeZone.forID("Asia/Tokyo");
+
+  @Param({ "Long", "Double", "DateTime", "Date", "Calendar", "String" })
+  public String type;
+
+  private Object instant;
+
+  private double julianDay;
+
+  @Setup
+  public void setUp() {
+    julianDay = DateTimeUtils.toAJD(MILLIS);
+    if ("Long".equals(type)) {
+      instant = MILLIS;
+    } else if ("Double".equals(type)) {
+      instant = julianDay;
+    } else if ("DateTime".equals(type)) {
+      instant = new DateTime(MILLIS, ZONE);
+    } else if ("Date".equals(type)) {
+      instant = new Date(MILLIS);
+    } else if ("Calendar".equals(type)) {
+      Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone("Asia/Tokyo"));
+      calendar.setTimeInMillis(MILLIS);
+      instant = calendar;
+    } else {
+      instant = "1996-01-23T12:34:56.789+09:00";
+    }
+  }
+
+  @Benchmark
+  public DateTime toDT() {
+    return DateTimeUtils.toDT(instant, ZONE);
+  }
+
+  @Benchmark
+  public Double toAJD() {
+    return DateTimeUtils.toAJD(instant);
+  }
+
+  @Benchmark
+  public Double toMJD() {
+    return DateTimeUtils.toMJD(instant);
+  }
+
+  @Benchmark
+  public long toJDN() {
+    return DateTimeUtils.toJDN(instant);
+  }
+
+  @Benchmark
+  public double toCJD() {
+    return DateTimeUtils.toCJD(instant, ZONE);
+  }
+
+  @Benchmark
+  public double toAJDAtStartOfDay() {
+    return DateTimeUtils.toAJDAtStartOfDay(instant, ZONE);
+  }
+
+  @Benchmark
+  public long fromJD() {
+    return DateTimeUtils.fromJD(julianDay);
+  }
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright (C) 2015+ furplag (https://github.com/furplag/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.util.time.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jp.furplag.util.time.lunisolar.ja.JPLunisolar;
+import jp.furplag.util.time.lunisolar.ja.JPLunisolarChronology;
+
+/**
+ * {@link JPLunisolar#materialize(Object)} in every {@link JPLunisolarChronology} , at the date after the chronology enforced.
+ *
+ * @author furplag
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JPLunisolarBenchmark {
+
+  @Param({ "Origin", "Genka", "Giho", "Taien", "Taien766", "Taien768", "Taien793", "Taien837", "Goki", "Senmyo", "Jokyo", "Horyaku", "Kansei", "Tenpo" })
+  public JPLunisolarChronology chronology;
+
+  private JPLunisolar lunisolar;
+
+  private double julianDay;
+
+  @Setup
+  public void setUp() {
+    lunisolar = new JPLunisolar(chronology);
+    julianDay = getEnforced(chronology) + 200d;
+  }
+
+  @Benchmark
+  public JPLunisolar materialize() {
+    return lunisolar.materialize(julianDay);
+  }
+
+  private static double getEnforced(final JPLunisolarChronology chronology) {
+    switch (chronology) {
+      case Genka: return 1886925.125;
+      case Giho: return 1975664.125;
+      case Taien: return 2000145.125;
+      case Taien766: return 2000883.125;
+      case Taien768: return 2001592.125;
+      case Taien793: return 2010746.125;
+      case Taien837: return 2026811.125;
+      case Goki: return 2034460.125;
+      case Senmyo: return 2035936.125;
+      case Jokyo: return 2336528.125;
+      case Horyaku: return 2362101.125;
+      case Kansei: return 2377812.125;
+      case Tenpo: return 2394614.125;
+      default: return 1850000.125;
+    }
+  }
+}
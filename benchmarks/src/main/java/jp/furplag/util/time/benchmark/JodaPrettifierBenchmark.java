@@ -0,0 +1,109 @@
+/**
+ * Copyright (C) 2015+ furplag (https://github.com/furplag/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.util.time.benchmark;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.Days;
+import org.joda.time.Period;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jp.furplag.util.time.JodaPrettifier;
+import jp.furplag.util.time.PrettifyPolicy;
+
+/**
+ * {@link JodaPrettifier#prettify(Object, Object, Locale, DateTimeZone, Object)} with each kind of limit.
+ * <p>
+ * {@code distance} is the minutes from the reference, the moment out of one day limit is formatted as date-time.
+ * </p>
+ *
+ * @author furplag
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JodaPrettifierBenchmark {
+
+  private static final DateTimeZone ZONE = DateTimeZone.forID("Asia/Tokyo");
+
+  @Param({ "none", "Period", "Days", "Double", "BigDecimal", "BigDecimalFraction", "Integer", "DateTime", "Boolean", "PrettifyPolicy" })
+  public String limitKind;
+
+  @Param({ "en", "ja" })
+  public String language;
+
+  @Param({ "-90", "4320" })
+  public int distance;
+
+  private DateTime reference;
+
+  private DateTime then;
+
+  private Locale locale;
+
+  private Object limit;
+
+  @Setup
+  public void setUp() {
+    reference = new DateTime(822366896789L, ZONE);
+    then = reference.plusMinutes(distance);
+    locale = new Locale(language);
+    if ("Period".equals(limitKind)) {
+      limit = Period.days(1);
+    } else if ("Days".equals(limitKind)) {
+      limit = Days.ONE;
+    } else if ("Double".equals(limitKind)) {
+      limit = 1d;
+    } else if ("BigDecimal".equals(limitKind)) {
+      limit = new BigDecimal("86400000");
+    } else if ("BigDecimalFraction".equals(limitKind)) {
+      limit = new BigDecimal("1.5");
+    } else if ("Integer".equals(limitKind)) {
+      limit = 86400000;
+    } else if ("DateTime".equals(limitKind)) {
+      limit = new DateTime(86400000L);
+    } else if ("Boolean".equals(limitKind)) {
+      limit = Boolean.TRUE;
+    } else if ("PrettifyPolicy".equals(limitKind)) {
+      limit = PrettifyPolicy.of(Period.days(1));
+    } else {
+      limit = null;
+    }
+  }
+
+  @Benchmark
+  public String prettify() {
+    return JodaPrettifier.prettify(then, reference, locale, ZONE, limit);
+  }
+}
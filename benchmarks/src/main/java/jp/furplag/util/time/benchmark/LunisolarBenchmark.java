@@ -0,0 +1,217 @@
+/**
+ * Copyright (C) 2015+ furplag (https://github.com/furplag/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.util.time.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jp.furplag.util.time.lunisolar.Ephemerides;
+import jp.furplag.util.time.lunisolar.Ephemeris;
+import jp.furplag.util.time.lunisolar.EphemerisTable;
+import jp.furplag.util.time.lunisolar.EventIterator;
+import jp.furplag.util.time.lunisolar.LunisolarDateTimeUtils;
+import jp.furplag.util.time.lunisolar.ja.JPLunisolar;
+import jp.furplag.util.time.lunisolar.ja.JPLunisolarChronology;
+
+/**
+ * the ecliptic longitudes, and the searches of new moon and solar term.
+ *
+ * @author furplag
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LunisolarBenchmark {
+
+  /** exposes the searches of {@link jp.furplag.util.time.lunisolar.AbstractLunisolar} . */
+  static final class Lunisolar extends JPLunisolar {
+
+    Lunisolar(final JPLunisolarChronology chronology) {
+      super(chronology);
+    }
+
+    Lunisolar(final JPLunisolarChronology chronology, final Ephemeris ephemeris) {
+      super(chronology, ephemeris);
+    }
+
+    double firstDayOfMonth(final double julianDay) {
+      return getFirstDayOfMonth(julianDay);
+    }
+
+    double latestTerm(final double julianDay, final double angle) {
+      return getLatestTerm(julianDay, angle);
+    }
+  }
+
+  /** the tiers of ephemeris. */
+  @State(Scope.Thread)
+  public static class Tier {
+
+    @Param({ "SERIES", "CHEBYSHEV", "PRECISE" })
+    Ephemerides ephemeris;
+
+    Lunisolar lunisolar;
+
+    @Setup
+    public void setUp() {
+      lunisolar = new Lunisolar(JPLunisolarChronology.Tenpo, ephemeris);
+    }
+  }
+
+  /** the precomputed table around {@link LunisolarBenchmark#EPOCH} . */
+  @State(Scope.Benchmark)
+  public static class Table {
+
+    File file;
+
+    Lunisolar lunisolar;
+
+    @Setup
+    public void setUp() throws IOException {
+      file = File.createTempFile("lunisolar", ".table");
+      EphemerisTable.write(file, Ephemerides.CHEBYSHEV, EPOCH - 400d, EPOCH + (SIZE * 1.37d) + 400d);
+      lunisolar = new Lunisolar(JPLunisolarChronology.Tenpo, EphemerisTable.open(file));
+    }
+
+    @TearDown
+    public void tearDown() {
+      lunisolar = null;
+      if (!file.delete()) file.deleteOnExit();
+    }
+  }
+
+  /** 1996-01-23T0Z . */
+  private static final double EPOCH = 2450105.5;
+
+  private static final int SIZE = 1024;
+
+  /** the number of the events in a scan, about ten years of new moons. */
+  private static final int EVENTS = 128;
+
+  private final double[] julianDays = new double[SIZE];
+
+  private final double[] longitudes = new double[SIZE];
+
+  private final Lunisolar lunisolar = new Lunisolar(JPLunisolarChronology.Tenpo);
+
+  private int index;
+
+  @Setup
+  public void setUp() {
+    for (int i = 0; i < SIZE; i++) {
+      julianDays[i] = EPOCH + (i * 1.37d);
+    }
+  }
+
+  private double next() {
+    return julianDays[index++ & (SIZE - 1)];
+  }
+
+  @Benchmark
+  public double getELOfSun() {
+    return LunisolarDateTimeUtils.getELOfSun(next());
+  }
+
+  @Benchmark
+  public double getELOfMoon() {
+    return LunisolarDateTimeUtils.getELOfMoon(next());
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public double[] getELOfSunArray() {
+    return LunisolarDateTimeUtils.getELOfSun(julianDays, longitudes);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public double[] getELOfMoonArray() {
+    return LunisolarDateTimeUtils.getELOfMoon(julianDays, longitudes);
+  }
+
+  @Benchmark
+  public double getFirstDayOfMonth() {
+    return lunisolar.firstDayOfMonth(next());
+  }
+
+  @Benchmark
+  public double getLatestTerm() {
+    return lunisolar.latestTerm(next(), 270);
+  }
+
+  @Benchmark
+  public double getELOfMoonByTier(final Tier tier) {
+    return tier.ephemeris.getELOfMoon(next());
+  }
+
+  @Benchmark
+  public double getFirstDayOfMonthByTier(final Tier tier) {
+    return tier.lunisolar.firstDayOfMonth(next());
+  }
+
+  @Benchmark
+  public double getFirstDayOfMonthByTable(final Table table) {
+    return table.lunisolar.firstDayOfMonth(next());
+  }
+
+  @Benchmark
+  public double getLatestTermByTable(final Table table) {
+    return table.lunisolar.latestTerm(next(), 270);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(EVENTS)
+  public double scanNewMoons() {
+    EventIterator newMoons = EventIterator.newMoons(Ephemerides.DEFAULT, EPOCH);
+    double sum = 0d;
+    for (int i = 0; i < EVENTS; i++) {
+      sum += newMoons.nextMoment();
+    }
+
+    return sum;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(EVENTS)
+  public double scanSolarTerms() {
+    EventIterator solarTerms = EventIterator.solarTerms(Ephemerides.DEFAULT, EPOCH);
+    double sum = 0d;
+    for (int i = 0; i < EVENTS; i++) {
+      sum += solarTerms.nextMoment();
+    }
+
+    return sum;
+  }
+}
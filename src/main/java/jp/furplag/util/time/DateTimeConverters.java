@@ -0,0 +1,319 @@
+/**
+ * Copyright (C) 2015+ furplag (https://github.com/furplag/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.util.time;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.lang3.ClassUtils;
+import org.joda.time.Chronology;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.LocalTime;
+import org.joda.time.ReadableInstant;
+import org.joda.time.chrono.GJChronology;
+import org.joda.time.convert.ConverterManager;
+
+import jp.furplag.util.Localizer;
+
+/**
+ * registry of converters used in {@link DateTimeUtils}, resolved once per class.
+ * <p>
+ * strings are parsed by {@link InstantParser}, without throwing any exception.
+ * </p>
+ *
+ * @author furplag
+ */
+public final class DateTimeConverters {
+
+  /**
+   * converts an instant object to the epoch millis.
+   */
+  public static interface InstantConverter {
+
+    /**
+     * @param instant the date-time object, never null.
+     * @param strictly if true, returns null when the instant is invalid.
+     * @return the epoch millis from 1970-01-01T0Z, or null if the instant is invalid.
+     */
+    Long getMillis(Object instant, boolean strictly);
+  }
+
+  /**
+   * converts a local date-time object, which has no time zone, to the millis of its fields read as UTC.
+   * <p>
+   * {@link DateTimeUtils#toDT(Object, Object)} resolves the fields in the time zone of the initializer, and the others read them as UTC.
+   * </p>
+   */
+  public static interface LocalInstantConverter extends InstantConverter {}
+
+  /**
+   * constructs a date-time from the epoch millis, structured by an initializer.
+   */
+  public static interface InitializerConverter {
+
+    /**
+     * @param millis the epoch millis from 1970-01-01T0Z.
+     * @param initializer structure for {@code millis}, never null.
+     * @return an instance represents the specified millis.
+     */
+    DateTime toDT(long millis, Object initializer);
+  }
+
+  /** fallback for the instant which has no registered converter. */
+  private static final InstantConverter JODA = new InstantConverter() {
+    @Override
+    public Long getMillis(Object instant, boolean strictly) {
+      try {
+        return new DateTime(instant, GJChronology.getInstanceUTC()).getMillis();
+      } catch (Exception e) {}
+
+      return strictly ? null : DateTimeUtils.getCurrentMillis();
+    }
+  };
+
+  /** the instant which is not convertible. */
+  private static final InstantConverter NONE = new InstantConverter() {
+    @Override
+    public Long getMillis(Object instant, boolean strictly) {
+      return strictly ? null : DateTimeUtils.getCurrentMillis();
+    }
+  };
+
+  /** structure in the time zone, use julian calendar at the date before 1582-10-15T0Z. */
+  static final InitializerConverter ZONE = new InitializerConverter() {
+    @Override
+    public DateTime toDT(long millis, Object initializer) {
+      DateTimeZone zone = initializer instanceof DateTimeZone ? (DateTimeZone) initializer : Localizer.getDateTimeZone(initializer);
+      if (millis > DateTimeUtils.GREGORIAN_CUTOVER) return new DateTime(millis, zone == null ? DateTimeZone.UTC : zone);
+
+      return new DateTime(millis, zone == null ? GJChronology.getInstanceUTC() : GJChronology.getInstance(zone));
+    }
+  };
+
+  /** the fallback for unknown initializers, means UTC. */
+  static final InitializerConverter UTC = new InitializerConverter() {
+    @Override
+    public DateTime toDT(long millis, Object initializer) {
+      return ZONE.toDT(millis, DateTimeZone.UTC);
+    }
+  };
+
+  private static final Map<Class<?>, InstantConverter> INSTANTS = new ConcurrentHashMap<Class<?>, InstantConverter>();
+
+  private static final ResolvedConverters<InstantConverter> INSTANTS_RESOLVED = ResolvedConverters.newInstance(new ResolvedConverters.Resolver<InstantConverter>() {
+    @Override
+    public InstantConverter resolve(Class<?> type) {
+      InstantConverter converter = lookup(INSTANTS, type);
+
+      return converter == null ? getJodaConverter(type) : converter;
+    }
+  });
+
+  private static final Map<Class<?>, InitializerConverter> INITIALIZERS = new ConcurrentHashMap<Class<?>, InitializerConverter>();
+
+  private static final ResolvedConverters<InitializerConverter> INITIALIZERS_RESOLVED = ResolvedConverters.newInstance(new ResolvedConverters.Resolver<InitializerConverter>() {
+    @Override
+    public InitializerConverter resolve(Class<?> type) {
+      InitializerConverter converter = lookup(INITIALIZERS, type);
+
+      return converter == null ? UTC : converter;
+    }
+  });
+
+  static {
+    InstantConverter integral = new InstantConverter() {
+      @Override
+      public Long getMillis(Object instant, boolean strictly) {
+        return ((Number) instant).longValue();
+      }
+    };
+    InstantConverter julianDay = new InstantConverter() {
+      @Override
+      public Long getMillis(Object instant, boolean strictly) {
+        double julianDay = ((Number) instant).doubleValue();
+        if (Double.isNaN(julianDay) || Double.isInfinite(julianDay)) return null;
+
+        return DateTimeUtils.fromJD(julianDay);
+      }
+    };
+    for (Class<?> type : new Class<?>[] { Byte.class, Short.class, Integer.class, Long.class, BigInteger.class }) {
+      INSTANTS.put(type, integral);
+    }
+    for (Class<?> type : new Class<?>[] { Float.class, Double.class, BigDecimal.class }) {
+      INSTANTS.put(type, julianDay);
+    }
+    INSTANTS.put(ReadableInstant.class, new InstantConverter() {
+      @Override
+      public Long getMillis(Object instant, boolean strictly) {
+        return ((ReadableInstant) instant).getMillis();
+      }
+    });
+    INSTANTS.put(Date.class, new InstantConverter() {
+      @Override
+      public Long getMillis(Object instant, boolean strictly) {
+        return ((Date) instant).getTime();
+      }
+    });
+    INSTANTS.put(Calendar.class, new InstantConverter() {
+      @Override
+      public Long getMillis(Object instant, boolean strictly) {
+        return ((Calendar) instant).getTimeInMillis();
+      }
+    });
+    INSTANTS.put(CharSequence.class, new InstantConverter() {
+      @Override
+      public Long getMillis(Object instant, boolean strictly) {
+        long millis = InstantParser.parse((CharSequence) instant);
+        if (millis != InstantParser.INVALID) return millis;
+
+        return strictly ? null : DateTimeUtils.getCurrentMillis();
+      }
+    });
+
+    INITIALIZERS.put(DateTime.class, new InitializerConverter() {
+      @Override
+      public DateTime toDT(long millis, Object initializer) {
+        return ((DateTime) initializer).withMillis(millis);
+      }
+    });
+    INITIALIZERS.put(Chronology.class, new InitializerConverter() {
+      @Override
+      public DateTime toDT(long millis, Object initializer) {
+        return new DateTime(millis, (Chronology) initializer);
+      }
+    });
+    INITIALIZERS.put(DateTimeZone.class, ZONE);
+    INITIALIZERS.put(TimeZone.class, ZONE);
+    INITIALIZERS.put(String.class, ZONE);
+    INITIALIZERS.put(LocalTime.class, new InitializerConverter() {
+      @Override
+      public DateTime toDT(long millis, Object initializer) {
+        return ZONE.toDT(millis, DateTimeZone.forOffsetMillis(((LocalTime) initializer).getMillisOfDay()));
+      }
+    });
+    INITIALIZERS.put(Number.class, new InitializerConverter() {
+      @Override
+      public DateTime toDT(long millis, Object initializer) {
+        if (((Number) initializer).doubleValue() < DateTimeUtils.MILLIS_OF_DAY) return ZONE.toDT(millis, DateTimeZone.forOffsetMillis(((Number) initializer).intValue()));
+
+        return UTC.toDT(millis, initializer);
+      }
+    });
+    try {
+      Class.forName("java.time.Instant");
+      JavaTimeUtils.registerConverters();
+    } catch (ClassNotFoundException e) {}
+  }
+
+  /**
+   * {@code DateTimeConverters} instances should NOT be constructed in standard programming.
+   */
+  private DateTimeConverters() {}
+
+  /**
+   * register the converter for the instant of specified class (and its subclasses) .
+   *
+   * @param type the class of instant.
+   * @param converter the converter, null means remove.
+   */
+  public static void registerInstantConverter(final Class<?> type, final InstantConverter converter) {
+    if (type == null) throw new IllegalArgumentException("type must NOT be empty.");
+    if (converter == null) {
+      INSTANTS.remove(type);
+    } else {
+      INSTANTS.put(type, converter);
+    }
+    INSTANTS_RESOLVED.clear();
+  }
+
+  /**
+   * register the converter for the initializer of specified class (and its subclasses) .
+   *
+   * @param type the class of initializer.
+   * @param converter the converter, null means remove.
+   */
+  public static void registerInitializerConverter(final Class<?> type, final InitializerConverter converter) {
+    if (type == null) throw new IllegalArgumentException("type must NOT be empty.");
+    if (converter == null) {
+      INITIALIZERS.remove(type);
+    } else {
+      INITIALIZERS.put(type, converter);
+    }
+    INITIALIZERS_RESOLVED.clear();
+  }
+
+  /**
+   * returns the converter for the instant of specified class.
+   *
+   * @param type the class of instant.
+   * @return the converter, never null.
+   */
+  static InstantConverter getInstantConverter(final Class<?> type) {
+    return INSTANTS_RESOLVED.get(type);
+  }
+
+  /**
+   * returns the converter for the initializer of specified class.
+   *
+   * @param type the class of initializer.
+   * @return the converter, never null.
+   */
+  static InitializerConverter getInitializerConverter(final Class<?> type) {
+    return INITIALIZERS_RESOLVED.get(type);
+  }
+
+  /**
+   * find the converter registered for the class, its superclasses or its interfaces.
+   *
+   * @param converters registered converters.
+   * @param type the class.
+   * @return the converter, or null if not registered.
+   */
+  private static <T> T lookup(final Map<Class<?>, T> converters, final Class<?> type) {
+    List<Class<?>> types = new ArrayList<Class<?>>();
+    types.add(type);
+    types.addAll(ClassUtils.getAllSuperclasses(type));
+    types.addAll(ClassUtils.getAllInterfaces(type));
+    for (Class<?> t : types) {
+      if (converters.containsKey(t)) return converters.get(t);
+    }
+
+    return null;
+  }
+
+  /**
+   * returns JODA if Joda-Time could convert the instant of specified class, or NONE.
+   *
+   * @param type the class of instant.
+   * @return the converter.
+   */
+  private static InstantConverter getJodaConverter(final Class<?> type) {
+    for (org.joda.time.convert.InstantConverter converter : ConverterManager.getInstance().getInstantConverters()) {
+      if (converter.getSupportedType() != null && converter.getSupportedType().isAssignableFrom(type)) return JODA;
+    }
+
+    return NONE;
+  }
+}
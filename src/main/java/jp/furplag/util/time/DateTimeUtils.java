@@ -16,29 +16,25 @@
 
 package jp.furplag.util.time;
 
-import static jp.furplag.util.commons.NumberUtils.add;
-import static jp.furplag.util.commons.NumberUtils.isInfiniteOrNaN;
-import static jp.furplag.util.commons.NumberUtils.subtract;
-import static jp.furplag.util.commons.NumberUtils.valueOf;
-
-import java.math.BigDecimal;
-import java.math.BigInteger;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
-import java.util.TimeZone;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.regex.Pattern;
 
-import org.apache.commons.lang3.ClassUtils;
-import org.joda.time.Chronology;
 import org.joda.time.DateTime;
 import org.joda.time.DateTimeZone;
-import org.joda.time.LocalTime;
-import org.joda.time.chrono.GJChronology;
-import org.joda.time.chrono.ISOChronology;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
 
 import jp.furplag.util.Localizer;
-import jp.furplag.util.commons.NumberUtils;
-import jp.furplag.util.commons.ObjectUtils;
 import jp.furplag.util.commons.StringUtils;
 
 /**
@@ -96,6 +92,59 @@ public class DateTimeUtils extends org.joda.time.DateTimeUtils {
     }
   }
 
+  /** splits a bulk conversion into chunks. */
+  static abstract class BulkConversion {
+
+    /** the minimum number of elements to convert in a task. */
+    private static final int THRESHOLD = 1 << 16;
+
+    BulkConversion(final int length) {
+      this(length, THRESHOLD);
+    }
+
+    BulkConversion(final int length, final int threshold) {
+      this.length = length;
+      this.threshold = threshold;
+    }
+
+    private final int length;
+
+    private final int threshold;
+
+    abstract void convert(int from, int to);
+
+    final void run(final ExecutorService executor) {
+      final int chunk = Math.max(threshold, (length / Runtime.getRuntime().availableProcessors()) + 1);
+      if (executor == null || length <= chunk) {
+        convert(0, length);
+
+        return;
+      }
+      List<Future<?>> tasks = new ArrayList<Future<?>>();
+      for (int i = 0; i < length; i += chunk) {
+        final int from = i;
+        final int to = Math.min(length, i + chunk);
+        tasks.add(executor.submit(new Runnable() {
+          @Override
+          public void run() {
+            convert(from, to);
+          }
+        }));
+      }
+      try {
+        for (Future<?> task : tasks) {
+          task.get();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException(e);
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+        throw new IllegalStateException(e.getCause());
+      }
+    }
+  }
+
   /** the epoch julian date of 1582-10-15T00:00:00Z. */
   public static final long GREGORIAN_CUTOVER = -12219292800000L;
 
@@ -108,6 +157,24 @@ public class DateTimeUtils extends org.joda.time.DateTimeUtils {
   /** the epoch julian date of 1858-11-17T00:00:00Z. */
   public static final double MJD_PERIOD = 2400000.5;
 
+  /** {@link #MILLIS_OF_DAY} in long, for the integral arithmetic. */
+  private static final long MILLIS_OF_DAY_LONG = 86400000L;
+
+  /** the julian day number of 1970-01-01. */
+  private static final long JDN_PERIOD = 2440588L;
+
+  /** the maximum number of locales to cache the patterns. */
+  private static final int FORMAT_CACHE_SIZE = 64;
+
+  private static final int FORMAT_STYLES = FormatStyle.values().length;
+
+  private static final ConcurrentMap<Locale, AtomicReferenceArray<String>> PATTERNS = new ConcurrentHashMap<Locale, AtomicReferenceArray<String>>();
+
+  private static final ConcurrentMap<Locale, AtomicReferenceArray<DateTimeFormatter>> FORMATTERS = new ConcurrentHashMap<Locale, AtomicReferenceArray<DateTimeFormatter>>();
+
+  /** the clock to read current time. */
+  private static volatile MillisProvider clock = MillisProviders.joda();
+
   /**
    * {@code DateTimeUtils} instances should NOT be constructed in standard programming.
    */
@@ -122,7 +189,7 @@ public class DateTimeUtils extends org.joda.time.DateTimeUtils {
    * @return the epoch millis from 1970-01-01T0Z.
    */
   public static long fromJD(final double julianDay) {
-    return fromJD(Double.valueOf(julianDay));
+    return Math.round((julianDay - MILLIS_PERIOD) * MILLIS_OF_DAY);
   }
 
   /**
@@ -132,13 +199,111 @@ public class DateTimeUtils extends org.joda.time.DateTimeUtils {
    * @return the epoch millis from 1970-01-01T0Z.
    */
   public static Long fromJD(final Double julianDay) {
-    return julianDay == null ? null : Math.round((julianDay - MILLIS_PERIOD) * MILLIS_OF_DAY);
+    return julianDay == null ? null : fromJD(julianDay.doubleValue());
+  }
+
+  /**
+   * bulk substitute for {@link #fromJD(double)}.
+   *
+   * @param julianDays the julian days.
+   * @param out the array to store the epoch millis, must be at least as long as {@code julianDays}.
+   * @return {@code out}.
+   */
+  public static long[] fromJD(final double[] julianDays, final long[] out) {
+    return fromJD(julianDays, out, null);
+  }
+
+  /**
+   * bulk substitute for {@link #fromJD(double)}.
+   *
+   * @param julianDays the julian days.
+   * @param out the array to store the epoch millis, must be at least as long as {@code julianDays}.
+   * @param executor splits large arrays into chunks if specified, null means run sequentially.
+   * @return {@code out}.
+   */
+  public static long[] fromJD(final double[] julianDays, final long[] out, final ExecutorService executor) {
+    checkBounds(julianDays == null ? -1 : julianDays.length, 0, out == null ? -1 : out.length, 0, julianDays == null ? 0 : julianDays.length);
+    new BulkConversion(julianDays.length) {
+      @Override
+      void convert(int from, int to) {
+        fromJD(julianDays, from, out, from, to - from);
+      }
+    }.run(executor);
+
+    return out;
+  }
+
+  /**
+   * bulk substitute for {@link #fromJD(double)}.
+   *
+   * @param julianDays the julian days.
+   * @param offset the start index of {@code julianDays}.
+   * @param out the array to store the epoch millis.
+   * @param outOffset the start index of {@code out}.
+   * @param length the number of elements to convert.
+   * @return {@code out}.
+   */
+  public static long[] fromJD(final double[] julianDays, final int offset, final long[] out, final int outOffset, final int length) {
+    checkBounds(julianDays == null ? -1 : julianDays.length, offset, out == null ? -1 : out.length, outOffset, length);
+    for (int i = 0; i < length; i++) {
+      out[outOffset + i] = Math.round((julianDays[offset + i] - MILLIS_PERIOD) * MILLIS_OF_DAY);
+    }
+
+    return out;
+  }
+
+  /**
+   * discard the patterns and formatters cached by {@link #getPattern(String, Object)} and {@link #getFormatter(String, Object)} .
+   */
+  public static void clearFormatCache() {
+    PATTERNS.clear();
+    FORMATTERS.clear();
+  }
+
+  /**
+   * returns the clock which the fallbacks of current time read.
+   *
+   * @return the clock.
+   */
+  public static MillisProvider getClock() {
+    return clock;
+  }
+
+  /**
+   * the epoch millis of current time, read from the clock.
+   *
+   * @return the epoch millis from 1970-01-01T0Z.
+   */
+  public static long getCurrentMillis() {
+    return clock.getMillis();
+  }
+
+  /**
+   * returns the formatter of the localized pattern from a two character style pattern.
+   *
+   * @param style specify a character of 'S' for short style, 'M' for medium, 'L' for long, and 'F' for full. A date or time may be omitted by specifying a style character '-'.
+   * @param locale the locale ( {@code String} and {@code Locale} specifiable ).
+   * @return {@code DateTimeFormat.forPattern(getPattern(style, locale)).withLocale(locale)}.
+   * @throws IllegalArgumentException if both of date and time are omitted.
+   */
+  public static DateTimeFormatter getFormatter(final String style, final Object locale) {
+    final FormatStyle[] styles = FormatStyle.forStyles(style);
+    final Locale aLocale = Localizer.getAvailableLocale(locale);
+    final AtomicReferenceArray<DateTimeFormatter> formatters = getFormatCache(FORMATTERS, aLocale);
+    DateTimeFormatter formatter = formatters.get(getFormatIndex(styles));
+    if (formatter == null) {
+      formatter = DateTimeFormat.forPattern(getPattern(styles, aLocale)).withLocale(aLocale);
+      formatters.set(getFormatIndex(styles), formatter);
+    }
+
+    return formatter;
   }
 
   /**
    * create a localized pattern string describing the datetime format from a two character style pattern.
    * <p>
    * The first character of {@code style} is the date style, and the second character is the time style.
+   * resolved patterns are cached per locale.
    * </p>
    *
    * @param style specify a character of 'S' for short style, 'M' for medium, 'L' for long, and 'F' for full. A date or time may be omitted by specifying a style character '-'.
@@ -146,13 +311,33 @@ public class DateTimeUtils extends org.joda.time.DateTimeUtils {
    * @return
    */
   public static String getPattern(final String style, final Object locale) {
-    FormatStyle[] styles = FormatStyle.forStyles(style);
-    StringBuilder sb = new StringBuilder();
-    if (styles[0].is()) sb.append(((SimpleDateFormat) DateFormat.getDateInstance(styles[0].style, Localizer.getAvailableLocale(locale))).toPattern());
-    if (styles[0].is() && styles[1].is()) sb.append(" ");
-    if (styles[1].is()) sb.append(((SimpleDateFormat) DateFormat.getTimeInstance(styles[1].style, Localizer.getAvailableLocale(locale))).toPattern());
+    return getPattern(FormatStyle.forStyles(style), Localizer.getAvailableLocale(locale));
+  }
+
+  private static String getPattern(final FormatStyle[] styles, final Locale locale) {
+    final AtomicReferenceArray<String> patterns = getFormatCache(PATTERNS, locale);
+    String pattern = patterns.get(getFormatIndex(styles));
+    if (pattern == null) {
+      StringBuilder sb = new StringBuilder();
+      if (styles[0].is()) sb.append(((SimpleDateFormat) DateFormat.getDateInstance(styles[0].style, locale)).toPattern());
+      if (styles[0].is() && styles[1].is()) sb.append(" ");
+      if (styles[1].is()) sb.append(((SimpleDateFormat) DateFormat.getTimeInstance(styles[1].style, locale)).toPattern());
+      pattern = sb.toString();
+      patterns.set(getFormatIndex(styles), pattern);
+    }
 
-    return sb.toString();
+    return pattern;
+  }
+
+  /**
+   * the days from 1970-01-01 in the specified time zone, never constructs any {@code DateTime}.
+   *
+   * @param millis the epoch millis from 1970-01-01T0Z.
+   * @param zone the time zone, null means UTC.
+   * @return the epoch day in the zone.
+   */
+  public static long dayKey(final long millis, final DateTimeZone zone) {
+    return DayBoundaries.of(zone).dayKey(millis);
   }
 
   /**
@@ -164,17 +349,31 @@ public class DateTimeUtils extends org.joda.time.DateTimeUtils {
    * @return {@code true} if they represent the same day.
    */
   public static boolean isSameDay(final Object aDay, final Object anotherDay, final DateTimeZone zone) {
-    DateTime then = toDT(aDay, zone, true);
+    Long then = aDay == null ? null : getMillis(aDay, true);
+    Long another = then == null ? null : getMillis(anotherDay, false);
+    if (another == null) return false;
+    DayBoundaries boundaries = DayBoundaries.of(zone);
 
-    return then != null && then.withTimeAtStartOfDay().isEqual(toDT(anotherDay, zone).withTimeAtStartOfDay());
+    return boundaries.dayKey(then) == boundaries.dayKey(another);
   }
 
   public static boolean isToday(final Object then) {
-    return isSameDay(then, DateTime.now(), DateTimeZone.getDefault());
+    return isToday(then, DateTimeZone.getDefault());
   }
 
   public static boolean isToday(final Object then, final DateTimeZone zone) {
-    return isSameDay(then, DateTime.now(), zone);
+    Long millis = then == null ? null : getMillis(then, true);
+
+    return millis != null && DayBoundaries.of(zone).isToday(millis, getCurrentMillis());
+  }
+
+  /**
+   * change the clock which the fallbacks of current time read, {@link MillisProviders} provides some clocks.
+   *
+   * @param clock the clock, null means {@link MillisProviders#joda()} .
+   */
+  public static void setClock(final MillisProvider clock) {
+    DateTimeUtils.clock = clock == null ? MillisProviders.joda() : clock;
   }
 
   /**
@@ -201,18 +400,78 @@ public class DateTimeUtils extends org.joda.time.DateTimeUtils {
    * @return the astronomical julian day represented by the specified instant.
    */
   public static Double toAJD(final Object instant, final boolean strictly) {
-    DateTime then = getDateTime(instant, GJChronology.getInstanceUTC(), strictly);
-    if (then == null) return null;
+    if (strictly && instant == null) return null;
+    Long millis = getMillis(instant, strictly);
+
+    return millis == null ? null : toAJD((long) millis);
+  }
+
+  /**
+   * primitive substitute for {@link #toAJD(Object)}, never constructs any {@code DateTime}.
+   *
+   * @param millis the epoch millis from 1970-01-01T0Z.
+   * @return the astronomical julian day represented by the specified millis.
+   */
+  public static double toAJD(final long millis) {
+    return (millis / MILLIS_OF_DAY) + MILLIS_PERIOD;
+  }
 
-    return (then.getMillis() / MILLIS_OF_DAY) + MILLIS_PERIOD;
+  /**
+   * bulk substitute for {@link #toAJD(long)}.
+   *
+   * @param millis the epoch millis.
+   * @param out the array to store the astronomical julian days, must be at least as long as {@code millis}.
+   * @return {@code out}.
+   */
+  public static double[] toAJD(final long[] millis, final double[] out) {
+    return toAJD(millis, out, null);
+  }
+
+  /**
+   * bulk substitute for {@link #toAJD(long)}.
+   *
+   * @param millis the epoch millis.
+   * @param out the array to store the astronomical julian days, must be at least as long as {@code millis}.
+   * @param executor splits large arrays into chunks if specified, null means run sequentially.
+   * @return {@code out}.
+   */
+  public static double[] toAJD(final long[] millis, final double[] out, final ExecutorService executor) {
+    checkBounds(millis == null ? -1 : millis.length, 0, out == null ? -1 : out.length, 0, millis == null ? 0 : millis.length);
+    new BulkConversion(millis.length) {
+      @Override
+      void convert(int from, int to) {
+        toAJD(millis, from, out, from, to - from);
+      }
+    }.run(executor);
+
+    return out;
+  }
+
+  /**
+   * bulk substitute for {@link #toAJD(long)}.
+   *
+   * @param millis the epoch millis.
+   * @param offset the start index of {@code millis}.
+   * @param out the array to store the astronomical julian days.
+   * @param outOffset the start index of {@code out}.
+   * @param length the number of elements to convert.
+   * @return {@code out}.
+   */
+  public static double[] toAJD(final long[] millis, final int offset, final double[] out, final int outOffset, final int length) {
+    checkBounds(millis == null ? -1 : millis.length, offset, out == null ? -1 : out.length, outOffset, length);
+    for (int i = 0; i < length; i++) {
+      out[outOffset + i] = (millis[offset + i] / MILLIS_OF_DAY) + MILLIS_PERIOD;
+    }
+
+    return out;
   }
 
   public static double toAJDAtEndOfDay(final Object instant, final DateTimeZone zone) {
-    return toAJD(toDT(instant, zone).plusDays(1).withTimeAtStartOfDay().minusMillis(1));
+    return toAJD(DayBoundaries.of(zone).startOfNextDay(getMillis(instant, false)) - 1L);
   }
 
   public static double toAJDAtStartOfDay(final Object instant, final DateTimeZone zone) {
-    return toAJD(toDT(instant, zone).withTimeAtStartOfDay());
+    return toAJD(DayBoundaries.of(zone).startOfDay(getMillis(instant, false)));
   }
 
   /**
@@ -223,9 +482,20 @@ public class DateTimeUtils extends org.joda.time.DateTimeUtils {
    * @return
    */
   public static double toCJD(final Object instant, final DateTimeZone zone) {
-    DateTime then = toDT(instant, zone);
+    long millis = getMillis(instant, false);
+
+    return toCJD(millis, zone == null ? 0 : zone.getOffset(millis));
+  }
 
-    return toAJD(then.plusMillis(zone.getOffset(then))) + .5d;
+  /**
+   * primitive substitute for {@link #toCJD(Object, DateTimeZone)}, with a fixed offset.
+   *
+   * @param millis the epoch millis from 1970-01-01T0Z.
+   * @param offsetMillis the milliseconds of offset to UTC.
+   * @return the chronological julian day represented by the specified millis.
+   */
+  public static double toCJD(final long millis, final int offsetMillis) {
+    return toAJD(millis + offsetMillis) + .5d;
   }
 
   /**
@@ -249,7 +519,7 @@ public class DateTimeUtils extends org.joda.time.DateTimeUtils {
   public static DateTime toDT(final Object instant, final boolean strictly) {
     if (instant instanceof DateTime) return new DateTime(((DateTime) instant).getMillis(), ((DateTime) instant).getZone());
 
-    return getDateTime(instant, DateTimeZone.UTC, strictly);
+    return getDateTime(instant, DateTimeConverters.UTC, null, strictly);
   }
 
   /**
@@ -274,6 +544,7 @@ public class DateTimeUtils extends org.joda.time.DateTimeUtils {
    * <li>{@code Chronology} means {@code new DateTime(instant, initializer)}.</li>
    * <li>{@code long} means the milliseconds of offset to UTC ( {@code new DateTime(instant, DateTimeZone.forOffsetMillis(initializer.getMillisOfDay()))} ).</li>
    * <li>{@code LocalTime} means the time of offset to UTC ( {@code new DateTime(instant, DateTimeZone.forOffsetMillis(initializer.getMillisOfDay()))} ).</li>
+   * <li>other types are converted by {@link DateTimeConverters#registerInitializerConverter(Class, DateTimeConverters.InitializerConverter)} if registered, or means UTC.</li>
    * </ul>
    * </p>
    *
@@ -285,18 +556,9 @@ public class DateTimeUtils extends org.joda.time.DateTimeUtils {
    */
   public static DateTime toDT(final Object instant, final Object initializer, final boolean strictly) {
     if (strictly && instant == null) return null;
-    if (initializer == null) return getDateTime(instant, DateTimeZone.UTC, strictly);
-    if (initializer instanceof DateTime) return getDateTime(instant, ((DateTime) initializer), strictly);
-    if (initializer instanceof DateTimeZone) return getDateTime(instant, ((DateTimeZone) initializer), strictly);
-    if (initializer instanceof Chronology) return getDateTime(instant, ((Chronology) initializer), strictly);
-    if (initializer instanceof TimeZone) return getDateTime(instant, Localizer.getDateTimeZone(initializer), strictly);
-    if (initializer instanceof String) return getDateTime(instant, Localizer.getDateTimeZone(initializer), strictly);
-    if (initializer instanceof LocalTime) return getDateTime(instant, DateTimeZone.forOffsetMillis(((LocalTime) initializer).getMillisOfDay()), strictly);
-    if (Number.class.isAssignableFrom(ClassUtils.primitiveToWrapper(initializer.getClass()))) {
-      if (NumberUtils.compareTo(valueOf(initializer), MILLIS_OF_DAY) < 0) return getDateTime(instant, DateTimeZone.forOffsetMillis(valueOf(initializer, int.class)), strictly);
-    }
+    if (initializer == null) return getDateTime(instant, DateTimeConverters.UTC, null, strictly);
 
-    return getDateTime(instant, DateTimeZone.UTC, strictly);
+    return getDateTime(instant, DateTimeConverters.getInitializerConverter(initializer.getClass()), initializer, strictly);
   }
 
   /**
@@ -323,7 +585,77 @@ public class DateTimeUtils extends org.joda.time.DateTimeUtils {
   public static Long toJDN(final Object instant, final boolean strictly) {
     Double ajd = toAJD(instant, strictly);
 
-    return ajd == null ? null : add(ajd, .5d, long.class);
+    return ajd == null ? null : toJDN(ajd.doubleValue());
+  }
+
+  /**
+   * primitive substitute for {@link #toJDN(Object)}, never constructs any {@code DateTime}.
+   *
+   * @param julianDay the astronomical julian day.
+   * @return the julian day number represented by the specified julian day.
+   */
+  public static long toJDN(final double julianDay) {
+    return (long) Math.floor(julianDay + .5d);
+  }
+
+  /**
+   * primitive substitute for {@link #toJDN(Object)}, never constructs any {@code DateTime}.
+   *
+   * @param millis the epoch millis from 1970-01-01T0Z.
+   * @return the julian day number represented by the specified millis.
+   */
+  public static long toJDN(final long millis) {
+    return floorDays(millis) + JDN_PERIOD;
+  }
+
+  /**
+   * bulk substitute for {@link #toJDN(long)}.
+   *
+   * @param millis the epoch millis.
+   * @param out the array to store the julian day numbers, must be at least as long as {@code millis}.
+   * @return {@code out}.
+   */
+  public static long[] toJDN(final long[] millis, final long[] out) {
+    return toJDN(millis, out, null);
+  }
+
+  /**
+   * bulk substitute for {@link #toJDN(long)}.
+   *
+   * @param millis the epoch millis.
+   * @param out the array to store the julian day numbers, must be at least as long as {@code millis}.
+   * @param executor splits large arrays into chunks if specified, null means run sequentially.
+   * @return {@code out}.
+   */
+  public static long[] toJDN(final long[] millis, final long[] out, final ExecutorService executor) {
+    checkBounds(millis == null ? -1 : millis.length, 0, out == null ? -1 : out.length, 0, millis == null ? 0 : millis.length);
+    new BulkConversion(millis.length) {
+      @Override
+      void convert(int from, int to) {
+        toJDN(millis, from, out, from, to - from);
+      }
+    }.run(executor);
+
+    return out;
+  }
+
+  /**
+   * bulk substitute for {@link #toJDN(long)}.
+   *
+   * @param millis the epoch millis.
+   * @param offset the start index of {@code millis}.
+   * @param out the array to store the julian day numbers.
+   * @param outOffset the start index of {@code out}.
+   * @param length the number of elements to convert.
+   * @return {@code out}.
+   */
+  public static long[] toJDN(final long[] millis, final int offset, final long[] out, final int outOffset, final int length) {
+    checkBounds(millis == null ? -1 : millis.length, offset, out == null ? -1 : out.length, outOffset, length);
+    for (int i = 0; i < length; i++) {
+      out[outOffset + i] = floorDays(millis[offset + i]) + JDN_PERIOD;
+    }
+
+    return out;
   }
 
   /**
@@ -350,74 +682,141 @@ public class DateTimeUtils extends org.joda.time.DateTimeUtils {
   public static Double toMJD(final Object instant, final boolean strictly) {
     Double ajd = toAJD(instant, strictly);
 
-    return ajd == null ? null : subtract(ajd, MJD_PERIOD, double.class);
+    return ajd == null ? null : ajd - MJD_PERIOD;
   }
 
   /**
-   * {@link org.joda.time.DateTime#DateTime(Chronology)}.
+   * primitive substitute for {@link #toMJD(Object)}, never constructs any {@code DateTime}.
    *
-   * @param instant the date-time object, null means current date-time.
-   * @param chrono the chronology, null means ISOChronology in UTC (NOT default) .
-   * @param strictly if true, returns null when the instant is invalid.
-   * @return {@link org.joda.time.DateTime#DateTime(Chronology)}.
+   * @param millis the epoch millis from 1970-01-01T0Z.
+   * @return the modified julian day represented by the specified millis.
    */
-  private static DateTime getDateTime(final Object instant, final Chronology chrono, final boolean strictly) {
-    if (instant instanceof DateTime) return ((DateTime) instant).withChronology(chrono == null ? ISOChronology.getInstanceUTC() : chrono);
-    if (strictly && instant == null) return null;
-    if (instant == null) return DateTime.now(chrono == null ? ISOChronology.getInstanceUTC() : chrono);
-    Long millis = getMillis(instant, strictly);
-    if (millis == null) return null;
-    try {
-      return new DateTime((long) millis, chrono == null ? ISOChronology.getInstanceUTC() : chrono);
-    } catch (Exception e) {}
-    if (strictly) return null;
+  public static double toMJD(final long millis) {
+    return toAJD(millis) - MJD_PERIOD;
+  }
 
-    return DateTime.now(chrono == null ? ISOChronology.getInstanceUTC() : chrono);
+  /**
+   * bulk substitute for {@link #toMJD(long)}.
+   *
+   * @param millis the epoch millis.
+   * @param out the array to store the modified julian days, must be at least as long as {@code millis}.
+   * @return {@code out}.
+   */
+  public static double[] toMJD(final long[] millis, final double[] out) {
+    return toMJD(millis, out, null);
   }
 
   /**
-   * {@link org.joda.time.DateTime#withMillis(long)}.
+   * bulk substitute for {@link #toMJD(long)}.
    *
-   * @param instant the date-time object, null means current date-time.
-   * @param dateTime structure for {@code instant}.
-   * @param strictly if true, returns null when the instant is invalid.
-   * @return {@link org.joda.time.DateTime#withMillis(long)}.
+   * @param millis the epoch millis.
+   * @param out the array to store the modified julian days, must be at least as long as {@code millis}.
+   * @param executor splits large arrays into chunks if specified, null means run sequentially.
+   * @return {@code out}.
    */
-  private static DateTime getDateTime(final Object instant, final DateTime dateTime, final boolean strictly) {
-    if (strictly && instant == null) return null;
-    if (dateTime == null) return getDateTime(instant, ISOChronology.getInstanceUTC(), strictly);
-    if (instant == null) return dateTime.withMillis(DateTime.now().getMillis());
-    Long millis = getMillis(instant, strictly);
-    if (millis == null) return null;
-    try {
-      return dateTime.withMillis(millis);
-    } catch (Exception e) {}
-    if (strictly) return null;
+  public static double[] toMJD(final long[] millis, final double[] out, final ExecutorService executor) {
+    checkBounds(millis == null ? -1 : millis.length, 0, out == null ? -1 : out.length, 0, millis == null ? 0 : millis.length);
+    new BulkConversion(millis.length) {
+      @Override
+      void convert(int from, int to) {
+        toMJD(millis, from, out, from, to - from);
+      }
+    }.run(executor);
+
+    return out;
+  }
+
+  /**
+   * bulk substitute for {@link #toMJD(long)}.
+   *
+   * @param millis the epoch millis.
+   * @param offset the start index of {@code millis}.
+   * @param out the array to store the modified julian days.
+   * @param outOffset the start index of {@code out}.
+   * @param length the number of elements to convert.
+   * @return {@code out}.
+   */
+  public static double[] toMJD(final long[] millis, final int offset, final double[] out, final int outOffset, final int length) {
+    checkBounds(millis == null ? -1 : millis.length, offset, out == null ? -1 : out.length, outOffset, length);
+    for (int i = 0; i < length; i++) {
+      out[outOffset + i] = ((millis[offset + i] / MILLIS_OF_DAY) + MILLIS_PERIOD) - MJD_PERIOD;
+    }
+
+    return out;
+  }
+
+  /**
+   * returns the cache of specified locale, the cache is discarded when it exceeds {@link #FORMAT_CACHE_SIZE} locales.
+   *
+   * @param cache the cache.
+   * @param locale the locale.
+   * @return the cache of the locale, indexed by {@link #getFormatIndex(FormatStyle[])} .
+   */
+  private static <T> AtomicReferenceArray<T> getFormatCache(final ConcurrentMap<Locale, AtomicReferenceArray<T>> cache, final Locale locale) {
+    AtomicReferenceArray<T> cached = cache.get(locale);
+    if (cached != null) return cached;
+    if (cache.size() >= FORMAT_CACHE_SIZE) cache.clear();
+    cached = new AtomicReferenceArray<T>(FORMAT_STYLES * FORMAT_STYLES);
+    AtomicReferenceArray<T> existing = cache.putIfAbsent(locale, cached);
+
+    return existing == null ? cached : existing;
+  }
+
+  private static int getFormatIndex(final FormatStyle[] styles) {
+    return (styles[0].ordinal() * FORMAT_STYLES) + styles[1].ordinal();
+  }
+
+  /**
+   * validate the range of bulk conversion.
+   *
+   * @param length the length of source array, negative means null.
+   * @param offset the start index of source array.
+   * @param outLength the length of destination array, negative means null.
+   * @param outOffset the start index of destination array.
+   * @param count the number of elements to convert.
+   */
+  private static void checkBounds(final int length, final int offset, final int outLength, final int outOffset, final int count) {
+    if (length < 0) throw new IllegalArgumentException("source must NOT be empty.");
+    if (outLength < 0) throw new IllegalArgumentException("destination must NOT be empty.");
+    if (count < 0 || offset < 0 || outOffset < 0 || offset > length - count || outOffset > outLength - count) {
+      throw new IndexOutOfBoundsException("offset: " + offset + ", outOffset: " + outOffset + ", length: " + count + ".");
+    }
+  }
+
+  /**
+   * the days from 1970-01-01T0Z, rounded toward negative infinity.
+   *
+   * @param millis the epoch millis.
+   * @return the epoch day.
+   */
+  static long floorDays(final long millis) {
+    final long days = millis / MILLIS_OF_DAY_LONG;
 
-    return dateTime.withMillis(DateTime.now().getMillis());
+    return (millis % MILLIS_OF_DAY_LONG) < 0 ? days - 1 : days;
   }
 
   /**
-   * {@link org.joda.time.DateTime#DateTime(Object, DateTimeZone)}.
+   * {@link org.joda.time.DateTime#DateTime(Object, org.joda.time.Chronology)}.
    *
    * @param instant the date-time object, null means current date-time.
-   * @param zone the time zone, null means UTC (NOT default) .
+   * @param converter the converter for {@code initializer}.
+   * @param initializer structure for {@code instant}.
    * @param strictly if true, returns null when the instant is invalid.
-   * @return {@link org.joda.time.DateTime#DateTime(Object, DateTimeZone)}.
+   * @return an instance from an Object that represents a datetime.
    */
-  private static DateTime getDateTime(final Object instant, final DateTimeZone zone, final boolean strictly) {
+  private static DateTime getDateTime(final Object instant, final DateTimeConverters.InitializerConverter converter, final Object initializer, final boolean strictly) {
     if (strictly && instant == null) return null;
-    if (instant == null) return DateTime.now(zone == null ? DateTimeZone.UTC : zone);
     Long millis = getMillis(instant, strictly);
     if (millis == null) return null;
     try {
-      if (millis > GREGORIAN_CUTOVER) return new DateTime((long) millis, zone == null ? DateTimeZone.UTC : zone);
+      final DateTime then = converter.toDT(millis, initializer);
+      if (instant == null || !(DateTimeConverters.getInstantConverter(instant.getClass()) instanceof DateTimeConverters.LocalInstantConverter)) return then;
 
-      return new DateTime((long) millis, zone == null ? GJChronology.getInstanceUTC() : GJChronology.getInstance(zone));
+      return then.withMillis(then.getZone().convertLocalToUTC(millis, false));
     } catch (Exception e) {}
     if (strictly) return null;
 
-    return DateTime.now(zone == null ? DateTimeZone.UTC : zone);
+    return converter.toDT(getCurrentMillis(), initializer);
   }
 
   /**
@@ -428,18 +827,8 @@ public class DateTimeUtils extends org.joda.time.DateTimeUtils {
    * @return {@link org.joda.time.DateTime#getMillis()}.
    */
   private static Long getMillis(final Object instant, final boolean strictly) {
-    if (instant instanceof DateTime) return ((DateTime) instant).getMillis();
-    if (instant != null && ObjectUtils.isAny(ClassUtils.primitiveToWrapper(instant.getClass()), BigDecimal.class, Double.class, Float.class)) {
-      if (isInfiniteOrNaN(valueOf(instant, double.class))) return null;
-      return fromJD(valueOf(instant, double.class));
-    }
-    if (instant != null
-        && ObjectUtils.isAny(ClassUtils.primitiveToWrapper(instant.getClass()), BigInteger.class, Byte.class, Short.class, Integer.class, Long.class)) { return valueOf(instant, long.class); }
-    try {
-      return new DateTime(instant, GJChronology.getInstanceUTC()).getMillis();
-    } catch (Exception e) {}
-    if (strictly) return null;
+    if (instant == null) return getCurrentMillis();
 
-    return DateTime.now().getMillis();
+    return DateTimeConverters.getInstantConverter(instant.getClass()).getMillis(instant, strictly);
   }
 }
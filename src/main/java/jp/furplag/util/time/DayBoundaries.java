@@ -0,0 +1,237 @@
+/**
+ * Copyright (C) 2015+ furplag (https://github.com/furplag/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.util.time;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.chrono.ISOChronology;
+
+/**
+ * day boundaries in the time zone, calculated from the cached periods of a constant offset.
+ * <p>
+ * keeps the {@link #WINDOWS} periods nearest to the recent moments sorted, so that the moments across the transitions (e.g. winter and summer of several years) are looked up by a binary search.
+ * the days next to a transition of the offset are calculated by Joda-Time, the same as {@link DateTime#withTimeAtStartOfDay()} .
+ * </p>
+ *
+ * @author furplag
+ */
+final class DayBoundaries {
+
+  /** the period which the offset of zone does not change. */
+  private static final class Window {
+
+    private Window(final long start, final long end, final int offset) {
+      this.start = start;
+      this.end = end;
+      this.offset = offset;
+    }
+
+    /** inclusive. */
+    private final long start;
+
+    /** exclusive. */
+    private final long end;
+
+    private final int offset;
+
+    private boolean contains(final long millis) {
+      return start <= millis && millis < end;
+    }
+  }
+
+  /** the day of "today" in the zone. */
+  private static final class Day {
+
+    private Day(final long start, final long end) {
+      this.start = start;
+      this.end = end;
+    }
+
+    /** inclusive. */
+    private final long start;
+
+    /** exclusive. */
+    private final long end;
+  }
+
+  private static final long MILLIS_OF_DAY = 86400000L;
+
+  /** the number of the periods cached per zone, about 16 years in the zones with daylight saving time. */
+  private static final int WINDOWS = 32;
+
+  private static final ConcurrentMap<DateTimeZone, DayBoundaries> ZONES = new ConcurrentHashMap<DateTimeZone, DayBoundaries>();
+
+  private DayBoundaries(final DateTimeZone zone) {
+    this.zone = zone;
+    windows = new Window[] { zone.isFixed() ? new Window(Long.MIN_VALUE, Long.MAX_VALUE, zone.getOffset(0L)) : newWindow(0L) };
+  }
+
+  private final DateTimeZone zone;
+
+  /** the periods sorted by the start, replaced as a whole. */
+  private volatile Window[] windows;
+
+  private volatile Day today;
+
+  /**
+   * returns the day boundaries of the zone.
+   *
+   * @param zone the time zone, null means UTC.
+   * @return the day boundaries of the zone.
+   */
+  static DayBoundaries of(final DateTimeZone zone) {
+    final DateTimeZone aZone = zone == null ? DateTimeZone.UTC : zone;
+    DayBoundaries boundaries = ZONES.get(aZone);
+    if (boundaries != null) return boundaries;
+    boundaries = new DayBoundaries(aZone);
+    DayBoundaries existing = ZONES.putIfAbsent(aZone, boundaries);
+
+    return existing == null ? boundaries : existing;
+  }
+
+  /**
+   * the days from 1970-01-01 in the zone.
+   *
+   * @param millis the epoch millis.
+   * @return the epoch day in the zone.
+   */
+  long dayKey(final long millis) {
+    return DateTimeUtils.floorDays(millis + getWindow(millis).offset);
+  }
+
+  /**
+   * the start of the day in the zone.
+   *
+   * @param millis the epoch millis.
+   * @return the epoch millis of the start of the day.
+   */
+  long startOfDay(final long millis) {
+    final Window window = getWindow(millis);
+    final long start = (DateTimeUtils.floorDays(millis + window.offset) * MILLIS_OF_DAY) - window.offset;
+    if (window.contains(start - MILLIS_OF_DAY)) return start;
+
+    return new DateTime(millis, ISOChronology.getInstance(zone)).withTimeAtStartOfDay().getMillis();
+  }
+
+  /**
+   * the start of the next day in the zone.
+   *
+   * @param millis the epoch millis.
+   * @return the epoch millis of the start of the next day.
+   */
+  long startOfNextDay(final long millis) {
+    final Window window = getWindow(millis);
+    final long end = ((DateTimeUtils.floorDays(millis + window.offset) + 1) * MILLIS_OF_DAY) - window.offset;
+    if (window.contains(end + MILLIS_OF_DAY)) return end;
+
+    return new DateTime(millis, ISOChronology.getInstance(zone)).plusDays(1).withTimeAtStartOfDay().getMillis();
+  }
+
+  /**
+   * if {@code true}, the moments are on the same day in the zone.
+   * <p>
+   * substitute for {@link #isToday(long, long)} with an arbitrary reference, never replaces the cached day of today.
+   * </p>
+   *
+   * @param millis the epoch millis.
+   * @param other the epoch millis of another moment.
+   * @return {@code true} if the moments are on the same day.
+   */
+  boolean isSameDay(final long millis, final long other) {
+    return startOfDay(millis) == startOfDay(other);
+  }
+
+  /**
+   * if {@code true}, the specified millis is on today in the zone.
+   *
+   * @param millis the epoch millis.
+   * @param now the epoch millis of current time.
+   * @return {@code true} if the millis represents today.
+   */
+  boolean isToday(final long millis, final long now) {
+    Day day = today;
+    if (day == null || now < day.start || day.end <= now) {
+      final long start = startOfDay(now);
+      day = new Day(start, startOfNextDay(start));
+      today = day;
+    }
+
+    return day.start <= millis && millis < day.end;
+  }
+
+  /**
+   * returns the window which contains the specified millis.
+   *
+   * @param millis the epoch millis.
+   * @return the window.
+   */
+  private Window getWindow(final long millis) {
+    final Window[] cached = windows;
+    int lower = 0;
+    int upper = cached.length - 1;
+    while (lower <= upper) {
+      final int middle = (lower + upper) >>> 1;
+      if (millis < cached[middle].start) {
+        upper = middle - 1;
+      } else if (cached[middle].end <= millis) {
+        lower = middle + 1;
+      } else {
+        return cached[middle];
+      }
+    }
+    final Window window = newWindow(millis);
+    windows = insert(cached, lower, window);
+
+    return window;
+  }
+
+  /**
+   * returns the windows with the window inserted, drops the farthest one if full.
+   *
+   * @param cached the windows sorted by the start.
+   * @param index the insertion point.
+   * @param window the window.
+   * @return the windows sorted by the start.
+   */
+  private static Window[] insert(final Window[] cached, final int index, final Window window) {
+    final int dropped = cached.length < WINDOWS ? -1 : index > (cached.length / 2) ? 0 : cached.length - 1;
+    final Window[] windows = new Window[dropped < 0 ? cached.length + 1 : cached.length];
+    int i = 0;
+    for (int j = 0; j <= cached.length; j++) {
+      if (j == index) windows[i++] = window;
+      if (j < cached.length && j != dropped) windows[i++] = cached[j];
+    }
+
+    return windows;
+  }
+
+  /**
+   * calculate the window which contains the specified millis.
+   *
+   * @param millis the epoch millis.
+   * @return the window.
+   */
+  private Window newWindow(final long millis) {
+    final long previous = millis == Long.MAX_VALUE ? millis : zone.previousTransition(millis + 1);
+    final long next = zone.nextTransition(millis);
+
+    return new Window(previous == millis + 1 ? Long.MIN_VALUE : previous + 1, next == millis ? Long.MAX_VALUE : next, zone.getOffset(millis));
+  }
+}
@@ -0,0 +1,224 @@
+/**
+ * Copyright (C) 2015+ furplag (https://github.com/furplag/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.util.time;
+
+import org.joda.time.MutableDateTime;
+import org.joda.time.chrono.GJChronology;
+import org.joda.time.format.DateTimeFormatter;
+import org.joda.time.format.ISODateTimeFormat;
+
+/**
+ * exception-free parser for ISO-8601 date-time strings.
+ * <p>
+ * the extended format ( {@code yyyy-MM-dd'T'HH:mm:ss.SSSZZ} and its shorthands, RFC 3339 ) is parsed without any allocation, on GJChronology in UTC.
+ * other formats {@link ISODateTimeFormat#dateTimeParser()} accepts are delegated to Joda-Time.
+ * </p>
+ *
+ * @author furplag
+ */
+public final class InstantParser {
+
+  /** the value means the text is not a date-time. */
+  public static final long INVALID = Long.MIN_VALUE;
+
+  /** the value means the text should be parsed by Joda-Time. */
+  private static final long DELEGATE = Long.MAX_VALUE;
+
+  private static final DateTimeFormatter JODA = ISODateTimeFormat.dateTimeParser().withChronology(GJChronology.getInstanceUTC());
+
+  /** the julian day number of 1970-01-01. */
+  private static final long JDN_OF_EPOCH = 2440588L;
+
+  /**
+   * {@code InstantParser} instances should NOT be constructed in standard programming.
+   */
+  private InstantParser() {}
+
+  /**
+   * parse ISO-8601 date-time string.
+   *
+   * @param text the text, may be null.
+   * @return the epoch millis from 1970-01-01T0Z, or {@link #INVALID} if the text is not a date-time.
+   */
+  public static long parse(final CharSequence text) {
+    if (text == null || text.length() < 1) return INVALID;
+    long millis = parseExtended(text);
+    if (millis != DELEGATE) return millis;
+    if (!isISOLike(text)) return INVALID;
+
+    return parseByJoda(text.toString());
+  }
+
+  /**
+   * parse {@code [yyyy-MM-dd]['T'HH[:mm[:ss[.SSS]]]][Z|+HH[[:]mm]]} , "T" and "Z" are case-insensitive (RFC 3339) .
+   *
+   * @param text the text.
+   * @return the epoch millis, {@link #INVALID} or {@link #DELEGATE} .
+   */
+  private static long parseExtended(final CharSequence text) {
+    final int length = text.length();
+    int position = 0;
+    int to = skipDigits(text, position);
+    if (to != 4 || to == length || text.charAt(to) != '-') return DELEGATE;
+    final int year = toInt(text, position, to);
+    if (year < 1) return DELEGATE;
+    position = to + 1;
+    to = skipDigits(text, position);
+    if (to - position < 1 || to - position > 2 || to == length || text.charAt(to) != '-') return DELEGATE;
+    final int month = toInt(text, position, to);
+    position = to + 1;
+    to = skipDigits(text, position);
+    if (to - position < 1 || to - position > 2) return DELEGATE;
+    final int dayOfMonth = toInt(text, position, to);
+    position = to;
+    if (month < 1 || month > 12 || dayOfMonth < 1) return INVALID;
+    final long epochDay = toEpochDay(year, month, dayOfMonth);
+    if (epochDay == INVALID || epochDay == DELEGATE) return epochDay;
+
+    int hour = 0;
+    int minute = 0;
+    int second = 0;
+    int millis = 0;
+    if (position < length && (text.charAt(position) == 'T' || text.charAt(position) == 't')) {
+      to = skipDigits(text, ++position);
+      if (to - position < 1 || to - position > 2) return DELEGATE;
+      hour = toInt(text, position, to);
+      position = to;
+      if (position < length && text.charAt(position) == ':') {
+        to = skipDigits(text, ++position);
+        if (to - position < 1 || to - position > 2) return DELEGATE;
+        minute = toInt(text, position, to);
+        position = to;
+        if (position < length && text.charAt(position) == ':') {
+          to = skipDigits(text, ++position);
+          if (to - position < 1 || to - position > 2) return DELEGATE;
+          second = toInt(text, position, to);
+          position = to;
+          if (position < length && (text.charAt(position) == '.' || text.charAt(position) == ',')) {
+            to = skipDigits(text, ++position);
+            if (to - position < 1 || to - position > 9) return DELEGATE;
+            millis = toInt(text, position, Math.min(to, position + 3));
+            for (int i = to - position; i < 3; i++) {
+              millis *= 10;
+            }
+            position = to;
+          }
+        }
+      }
+      if (hour > 23 || minute > 59 || second > 59) return INVALID;
+    }
+
+    long offsetMillis = 0L;
+    if (position < length && (text.charAt(position) == 'Z' || text.charAt(position) == 'z')) {
+      position++;
+    } else if (position < length && (text.charAt(position) == '+' || text.charAt(position) == '-')) {
+      final int sign = text.charAt(position++) == '-' ? -1 : 1;
+      to = skipDigits(text, position);
+      if (to - position != 2 && to - position != 4) return DELEGATE;
+      final int offsetHours = toInt(text, position, position + 2);
+      int offsetMinutes = to - position == 4 ? toInt(text, position + 2, to) : 0;
+      if (to - position == 2 && to < length && text.charAt(to) == ':') {
+        position = to + 1;
+        to = skipDigits(text, position);
+        if (to - position != 2) return DELEGATE;
+        offsetMinutes = toInt(text, position, to);
+      }
+      position = to;
+      if (offsetHours > 23 || offsetMinutes > 59) return INVALID;
+      offsetMillis = sign * ((offsetHours * 60L) + offsetMinutes) * 60000L;
+    }
+    if (position != length) return DELEGATE;
+
+    return (epochDay * 86400000L) + ((((hour * 60L) + minute) * 60L + second) * 1000L) + millis - offsetMillis;
+  }
+
+  /**
+   * the epoch day of the date, julian calendar at the date before 1582-10-15.
+   *
+   * @param year the year, must be positive.
+   * @param month the month of year.
+   * @param dayOfMonth the day of month.
+   * @return the epoch day, {@link #INVALID} or {@link #DELEGATE} .
+   */
+  private static long toEpochDay(final int year, final int month, final int dayOfMonth) {
+    final boolean gregorian = year > 1582 || (year == 1582 && (month > 10 || (month == 10 && dayOfMonth > 14)));
+    if (!gregorian && year == 1582 && month == 10 && dayOfMonth > 4) return DELEGATE;
+    final boolean leapYear = gregorian ? (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) : year % 4 == 0;
+    if (dayOfMonth > (month == 2 ? (leapYear ? 29 : 28) : (month == 4 || month == 6 || month == 9 || month == 11) ? 30 : 31)) return INVALID;
+    final long a = (14 - month) / 12;
+    final long y = year + 4800 - a;
+    final long m = month + (12 * a) - 3;
+    final long julianDayNumber = dayOfMonth + ((153 * m) + 2) / 5 + (365 * y) + (y / 4) + (gregorian ? (y / 400) - (y / 100) - 32045 : -32083);
+
+    return julianDayNumber - JDN_OF_EPOCH;
+  }
+
+  /**
+   * if false, Joda-Time never parse the text.
+   *
+   * @param text the text.
+   * @return {@code true} if the text consists of the characters of ISO-8601.
+   */
+  private static boolean isISOLike(final CharSequence text) {
+    final char first = text.charAt(0);
+    if (digit(first) < 0 && first != '+' && first != '-' && first != 'T' && first != 't') return false;
+    for (int i = 1; i < text.length(); i++) {
+      final char c = text.charAt(i);
+      if (digit(c) < 0 && "+-:.,TWZtwz".indexOf(c) < 0) return false;
+    }
+
+    return true;
+  }
+
+  private static long parseByJoda(final String text) {
+    try {
+      MutableDateTime then = new MutableDateTime(0L, GJChronology.getInstanceUTC());
+      if (JODA.parseInto(then, text, 0) == text.length()) return then.getMillis();
+    } catch (IllegalArgumentException e) {}
+
+    return INVALID;
+  }
+
+  private static int digit(final char c) {
+    return c >= '0' && c <= '9' ? c - '0' : -1;
+  }
+
+  /**
+   * returns the index of the first non-digit character from {@code from} .
+   *
+   * @param text the text.
+   * @param from start index.
+   * @return the index of the first non-digit character, or the length of text.
+   */
+  private static int skipDigits(final CharSequence text, final int from) {
+    int position = from;
+    while (position < text.length() && digit(text.charAt(position)) > -1) {
+      position++;
+    }
+
+    return position;
+  }
+
+  private static int toInt(final CharSequence text, final int from, final int to) {
+    int value = 0;
+    for (int i = from; i < to; i++) {
+      value = (value * 10) + digit(text.charAt(i));
+    }
+
+    return value;
+  }
+}
@@ -0,0 +1,219 @@
+/**
+ * Copyright (C) 2015+ furplag (https://github.com/furplag/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.util.time;
+
+import static jp.furplag.util.time.DateTimeUtils.MILLIS_OF_DAY;
+import static jp.furplag.util.time.DateTimeUtils.MILLIS_PERIOD;
+import static jp.furplag.util.time.DateTimeUtils.MJD_PERIOD;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+
+/**
+ * julian day conversions for {@code java.time} .
+ * <p>
+ * this class requires Java 8 or later, {@link DateTimeConverters} registers the converters of {@code java.time} only if available.
+ * note that {@code java.time} uses ISO calendar (proleptic gregorian) even at the date before 1582-10-15.
+ * {@code LocalDateTime} and {@code LocalDate} are resolved in the time zone of the initializer by {@link DateTimeUtils#toDT(Object, Object)} , and read as UTC otherwise.
+ * </p>
+ *
+ * @author furplag
+ */
+public final class JavaTimeUtils {
+
+  /** the seconds of one day. */
+  private static final double SECONDS_OF_DAY = MILLIS_OF_DAY / 1000d;
+
+  /** the julian day number of 1970-01-01. */
+  private static final long JDN_PERIOD = 2440588L;
+
+  /**
+   * {@code JavaTimeUtils} instances should NOT be constructed in standard programming.
+   */
+  private JavaTimeUtils() {}
+
+  /**
+   * substitute for {@link DateTimeUtils#fromJD(double)} .
+   *
+   * @param julianDay the julian day.
+   * @return the instant represented by the julian day.
+   */
+  public static Instant fromJD(final double julianDay) {
+    return Instant.ofEpochMilli(DateTimeUtils.fromJD(julianDay));
+  }
+
+  /**
+   * returns the date represented by the julian day number.
+   *
+   * @param julianDayNumber the julian day number.
+   * @return the date, in ISO calendar.
+   */
+  public static LocalDate fromJDN(final long julianDayNumber) {
+    return LocalDate.ofEpochDay(julianDayNumber - JDN_PERIOD);
+  }
+
+  /**
+   * substitute for {@link DateTimeUtils#toAJD(Object)} .
+   *
+   * @param instant the instant.
+   * @return the astronomical julian day represented by the instant.
+   */
+  public static double toAJD(final Instant instant) {
+    return toAJD(instant.getEpochSecond(), instant.getNano());
+  }
+
+  /**
+   * substitute for {@link DateTimeUtils#toAJD(Object)} .
+   *
+   * @param dateTime the date-time.
+   * @return the astronomical julian day represented by the date-time.
+   */
+  public static double toAJD(final ZonedDateTime dateTime) {
+    return toAJD(dateTime.toEpochSecond(), dateTime.getNano());
+  }
+
+  /**
+   * substitute for {@link DateTimeUtils#toAJD(Object)} .
+   *
+   * @param dateTime the date-time.
+   * @return the astronomical julian day represented by the date-time.
+   */
+  public static double toAJD(final OffsetDateTime dateTime) {
+    return toAJD(dateTime.toEpochSecond(), dateTime.getNano());
+  }
+
+  /**
+   * substitute for {@link DateTimeUtils#toCJD(Object, DateTimeZone)} .
+   *
+   * @param dateTime the date-time.
+   * @return the chronological julian day represented by the date-time.
+   */
+  public static double toCJD(final ZonedDateTime dateTime) {
+    return toAJD(dateTime.toEpochSecond() + dateTime.getOffset().getTotalSeconds(), dateTime.getNano()) + .5d;
+  }
+
+  /**
+   * returns the julian day number of the date.
+   *
+   * @param date the date, in ISO calendar.
+   * @return the julian day number.
+   */
+  public static long toJDN(final LocalDate date) {
+    return date.toEpochDay() + JDN_PERIOD;
+  }
+
+  /**
+   * substitute for {@link DateTimeUtils#toJDN(Object)} .
+   *
+   * @param instant the instant.
+   * @return the julian day number represented by the instant.
+   */
+  public static long toJDN(final Instant instant) {
+    return DateTimeUtils.toJDN(toAJD(instant));
+  }
+
+  /**
+   * substitute for {@link DateTimeUtils#toMJD(Object)} .
+   *
+   * @param instant the instant.
+   * @return the modified julian day represented by the instant.
+   */
+  public static double toMJD(final Instant instant) {
+    return toAJD(instant) - MJD_PERIOD;
+  }
+
+  /**
+   * returns the date-time represented by the julian day.
+   *
+   * @param julianDay the julian day.
+   * @param zone the time zone.
+   * @return the date-time in the zone.
+   */
+  public static ZonedDateTime toZDT(final double julianDay, final ZoneId zone) {
+    return ZonedDateTime.ofInstant(fromJD(julianDay), zone == null ? ZoneOffset.UTC : zone);
+  }
+
+  /**
+   * register the converters of {@code java.time} to {@link DateTimeConverters} .
+   */
+  static void registerConverters() {
+    DateTimeConverters.registerInstantConverter(Instant.class, new DateTimeConverters.InstantConverter() {
+      @Override
+      public Long getMillis(Object instant, boolean strictly) {
+        return toMillis((Instant) instant, strictly);
+      }
+    });
+    DateTimeConverters.registerInstantConverter(ZonedDateTime.class, new DateTimeConverters.InstantConverter() {
+      @Override
+      public Long getMillis(Object instant, boolean strictly) {
+        return toMillis(((ZonedDateTime) instant).toInstant(), strictly);
+      }
+    });
+    DateTimeConverters.registerInstantConverter(OffsetDateTime.class, new DateTimeConverters.InstantConverter() {
+      @Override
+      public Long getMillis(Object instant, boolean strictly) {
+        return toMillis(((OffsetDateTime) instant).toInstant(), strictly);
+      }
+    });
+    DateTimeConverters.registerInstantConverter(LocalDateTime.class, new DateTimeConverters.LocalInstantConverter() {
+      @Override
+      public Long getMillis(Object instant, boolean strictly) {
+        return toMillis(((LocalDateTime) instant).toInstant(ZoneOffset.UTC), strictly);
+      }
+    });
+    DateTimeConverters.registerInstantConverter(LocalDate.class, new DateTimeConverters.LocalInstantConverter() {
+      @Override
+      public Long getMillis(Object instant, boolean strictly) {
+        return toMillis(((LocalDate) instant).atStartOfDay().toInstant(ZoneOffset.UTC), strictly);
+      }
+    });
+    DateTimeConverters.registerInitializerConverter(ZoneId.class, new DateTimeConverters.InitializerConverter() {
+      @Override
+      public DateTime toDT(long millis, Object initializer) {
+        final ZoneId zone = ((ZoneId) initializer).normalized();
+        if (zone instanceof ZoneOffset) return DateTimeConverters.ZONE.toDT(millis, DateTimeZone.forOffsetMillis(((ZoneOffset) zone).getTotalSeconds() * 1000));
+
+        return DateTimeConverters.ZONE.toDT(millis, DateTimeZone.forID(zone.getId()));
+      }
+    });
+  }
+
+  private static double toAJD(final long epochSecond, final int nanos) {
+    return ((epochSecond + (nanos / 1E9)) / SECONDS_OF_DAY) + MILLIS_PERIOD;
+  }
+
+  /**
+   * @param instant the instant.
+   * @param strictly if true, returns null when the instant overflows the epoch millis.
+   * @return the epoch millis, or the current millis if the instant overflows.
+   */
+  private static Long toMillis(final Instant instant, final boolean strictly) {
+    try {
+      return instant.toEpochMilli();
+    } catch (ArithmeticException e) {}
+
+    return strictly ? null : DateTimeUtils.getCurrentMillis();
+  }
+}
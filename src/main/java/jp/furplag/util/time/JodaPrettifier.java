@@ -17,27 +17,27 @@
 package jp.furplag.util.time;
 
 import static jp.furplag.util.time.DateTimeUtils.isToday;
-import static jp.furplag.util.time.DateTimeUtils.toAJD;
 import static jp.furplag.util.time.DateTimeUtils.toDT;
 
-import java.math.BigDecimal;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.joda.time.DateTime;
 import org.joda.time.DateTimeZone;
-import org.joda.time.Interval;
-import org.joda.time.Period;
-import org.joda.time.base.BaseSingleFieldPeriod;
 import org.joda.time.chrono.GJChronology;
+import org.joda.time.chrono.ISOChronology;
 import org.joda.time.format.DateTimeFormat;
-import org.ocpsoft.prettytime.PrettyTime;
-import org.ocpsoft.prettytime.units.Decade;
+import org.joda.time.format.DateTimeFormatter;
 
 import jp.furplag.util.Localizer;
-import jp.furplag.util.commons.ClassUtils;
-import jp.furplag.util.commons.NumberUtils;
-import jp.furplag.util.commons.ObjectUtils;
 import jp.furplag.util.commons.StringUtils;
 
 /**
@@ -47,6 +47,90 @@ import jp.furplag.util.commons.StringUtils;
  */
 public class JodaPrettifier {
 
+  /** the maximum number of locales (and zones per locale) to cache the fallback formatters. */
+  private static final int FALLBACK_CACHE_SIZE = 64;
+
+  /** the formatters for the moment out of limit, per locale and zone. */
+  private static final ConcurrentMap<Locale, ConcurrentMap<DateTimeZone, AtomicReferenceArray<DateTimeFormatter>>> FALLBACK_FORMATTERS = new ConcurrentHashMap<Locale, ConcurrentMap<DateTimeZone, AtomicReferenceArray<DateTimeFormatter>>>();
+
+  /**
+   * the statistics of the prettified text cached per locale, see {@link JodaPrettifier#getCacheStatistics()} .
+   */
+  public static final class CacheStatistics {
+
+    private CacheStatistics(final long hitCount, final long missCount) {
+      this.hitCount = hitCount;
+      this.missCount = missCount;
+    }
+
+    private final long hitCount;
+
+    private final long missCount;
+
+    /**
+     * @return the number of the text served from the cache.
+     */
+    public long getHitCount() {
+      return hitCount;
+    }
+
+    /**
+     * @return the number of the text rendered.
+     */
+    public long getMissCount() {
+      return missCount;
+    }
+
+    /**
+     * @return the ratio of the cache hits, or 0 if nothing prettified.
+     */
+    public double getHitRate() {
+      return hitCount + missCount < 1 ? 0d : (double) hitCount / (double) (hitCount + missCount);
+    }
+
+    @Override
+    public String toString() {
+      return "CacheStatistics[hitCount=" + hitCount + ", missCount=" + missCount + ", hitRate=" + getHitRate() + "]";
+    }
+  }
+
+  /** the state shared in {@link JodaPrettifier#prettifyAll(long[], Object, Locale, DateTimeZone, Object)} . */
+  private static final class Batch {
+
+    /** the minimum number of moments to prettify in a task. */
+    private static final int THRESHOLD = 1 << 10;
+
+    private Batch(final Object reference, final Locale locale, final DateTimeZone zone, final Object limit) {
+      this.reference = reference;
+      this.locale = locale;
+      this.zone = zone == null ? DateTimeZone.UTC : zone;
+      this.limit = limit;
+      ref = DateTimeUtils.toDT(reference, this.zone, true);
+      policy = ref == null ? PrettifyPolicy.ALL : PrettifyPolicy.of(limit).resolve(ref.getMillis(), this.zone);
+    }
+
+    private final Object reference;
+
+    private final Locale locale;
+
+    private final DateTimeZone zone;
+
+    private final Object limit;
+
+    private final DateTime ref;
+
+    private final PrettifyPolicy policy;
+
+    private String prettify(final DateTime then) {
+      if (then == null) return StringUtils.EMPTY;
+      if (ref == null) return doPrettify(then, null, locale);
+      if (ref.isEqual(then)) return JodaPrettifier.prettify(then, reference, locale, zone, limit);
+      if (policy.contains(then.getMillis(), ref.getMillis(), zone)) return doPrettify(then, ref, locale);
+
+      return format(then, locale);
+    }
+  }
+
   /**
    * {@code JodaPrettifier} instances should NOT be constructed in standard programming.
    */
@@ -85,7 +169,7 @@ public class JodaPrettifier {
    * @param then the datetime object, null means current date-time.
    * @param reference the moment of a starting point ( {@link org.joda.time.ReadableInstant} and {@link Long} specifiable ). Use {@code DateTime.now()} as a start point if {@code reference} is null.
    * @param locale the language for Localization ( {@code String} and {@code Locale} specifiable ). Use ROOT if {@code locale} is null.
-   * @param limit if the moment is in the specified period, return prettified String ( {@code Period} and {@code Interval} specifiable ). Prettify all, if null.
+   * @param limit if the moment is in the specified period, return prettified String ( see {@link PrettifyPolicy#of(Object)} , compiled {@link PrettifyPolicy} is reusable ). Prettify all, if null.
    * @return the prettified String if the period includes specified moment. In other situation, return stringified date-time.
    */
   public static String prettify(final Object then, final Object reference, final Locale locale, final DateTimeZone zone, final Object limit) {
@@ -94,37 +178,181 @@ public class JodaPrettifier {
     DateTime ref = DateTimeUtils.toDT(reference, temporary.getZone(), true);
     if (ref == null) return doPrettify(temporary, null, locale);
     if (ref.isEqual(temporary)) ref = ref.plusMillis(1);
-    if (limit == null) return doPrettify(temporary, ref, locale);
-    Interval limitter = null;
-    if (Interval.class.equals(limit)) limitter = (Interval) limit;
-    if (limit instanceof Period) {
-      limitter = new Interval(ref.minus((Period) limit), ref.plusMillis(1).plus((Period) limit));
+    if (PrettifyPolicy.of(limit).contains(temporary.getMillis(), ref.getMillis(), temporary.getZone())) return doPrettify(temporary, ref, locale);
+
+    return format(temporary, locale);
+  }
+
+  /**
+   * substitute for {@link #prettify(Object, Object, Locale, DateTimeZone, Object)} , writes into the appendable without constructing the String.
+   *
+   * @param appendable the destination, e.g. {@link StringBuilder}, {@link java.io.Writer} and {@link java.nio.CharBuffer} .
+   * @param then the datetime object, null means current date-time.
+   * @param reference the moment of a starting point.
+   * @param locale the language for Localization.
+   * @param zone the time zone.
+   * @param limit if the moment is in the specified period, return prettified String.
+   * @return the appendable.
+   * @throws IOException if the appendable throws.
+   */
+  public static <T extends Appendable> T prettifyTo(final T appendable, final Object then, final Object reference, final Locale locale, final DateTimeZone zone, final Object limit) throws IOException {
+    if (appendable == null) throw new IllegalArgumentException("appendable must NOT be empty.");
+    DateTime temporary = DateTimeUtils.toDT(then, zone, true);
+    if (temporary == null) return appendable;
+    DateTime ref = DateTimeUtils.toDT(reference, temporary.getZone(), true);
+    if (ref != null && ref.isEqual(temporary)) ref = ref.plusMillis(1);
+    if (ref == null || PrettifyPolicy.of(limit).contains(temporary.getMillis(), ref.getMillis(), temporary.getZone())) {
+      doPrettifyTo(appendable, temporary, ref, locale);
+    } else {
+      getFallbackFormatter(temporary, locale).printTo(appendable, temporary);
     }
-    if (limit instanceof BaseSingleFieldPeriod) {
-      limitter = new Interval(ref.minus(new Period(limit)), ref.plusMillis(1).plus(new Period(limit)));
+
+    return appendable;
+  }
+
+  /**
+   * substitute for {@link #prettify(Object, Object, Locale, DateTimeZone, Object)} , returns the unit and the quantity instead of the prettified String.
+   * <p>
+   * the unit is selected in the same way as the prettified String in the locale, e.g. the decade is never used in Japanese.
+   * </p>
+   *
+   * @param then the datetime object.
+   * @param reference the moment of a starting point.
+   * @param locale the language for Localization.
+   * @param zone the time zone.
+   * @param limit if the moment is in the specified period, return the unit and the quantity.
+   * @return the structured moment, or null if {@code then} is invalid.
+   */
+  public static RelativeTime toRelativeTime(final Object then, final Object reference, final Locale locale, final DateTimeZone zone, final Object limit) {
+    DateTime temporary = DateTimeUtils.toDT(then, zone, true);
+    if (temporary == null) return null;
+    DateTime ref = DateTimeUtils.toDT(reference, temporary.getZone(), true);
+    if (ref == null) return RelativeTimeFormatter.of(locale).toRelativeTime(temporary.getMillis(), temporary.getMillis() + 1L);
+    if (ref.isEqual(temporary)) ref = ref.plusMillis(1);
+    if (PrettifyPolicy.of(limit).contains(temporary.getMillis(), ref.getMillis(), temporary.getZone())) return RelativeTimeFormatter.of(locale).toRelativeTime(temporary.getMillis(), ref.getMillis());
+
+    return new RelativeTime(null, 0L, temporary.getMillis());
+  }
+
+  /**
+   * returns the moment when {@link #prettify(Object, Object, Locale, DateTimeZone, Object)} renders another text, as the reference advances.
+   * <p>
+   * the reference is regarded as current time, so that the stringified date-time of the moment out of limit changes at the start of the day.
+   * the labels could be refreshed only when they expired, instead of on a fixed timer.
+   * </p>
+   *
+   * @param then the datetime object.
+   * @param reference the moment of a starting point.
+   * @param locale the language for Localization.
+   * @param zone the time zone.
+   * @param limit if the moment is in the specified period, return prettified String.
+   * @return the epoch millis of the reference which renders another text, or {@link Long#MAX_VALUE} if the text never changes.
+   */
+  public static long getNextChange(final Object then, final Object reference, final Locale locale, final DateTimeZone zone, final Object limit) {
+    DateTime temporary = DateTimeUtils.toDT(then, zone, true);
+    if (temporary == null) return Long.MAX_VALUE;
+    DateTime ref = DateTimeUtils.toDT(reference, temporary.getZone(), true);
+    if (ref == null) return Long.MAX_VALUE;
+    final long millis = temporary.getMillis();
+    final long refMillis = ref.isEqual(temporary) ? ref.getMillis() + 1L : ref.getMillis();
+    final PrettifyPolicy policy = PrettifyPolicy.of(limit);
+    final long nextChange = policy.getNextChange(millis, refMillis, temporary.getZone());
+    if (policy.contains(millis, refMillis, temporary.getZone())) {
+      // the reference at the moment is regarded as the next millis, renders the past.
+      final long prettified = RelativeTimeFormatter.of(locale).getNextChange(millis, refMillis);
+
+      return Math.min(nextChange, refMillis < millis ? Math.min(prettified, millis) : prettified);
     }
-    if (ObjectUtils.isAny(ClassUtils.primitiveToWrapper(limit.getClass()), Double.class, Float.class)) {
-      limitter = new Interval(toDT(toAJD(ref) - NumberUtils.valueOf(limit, double.class), ref), toDT(toAJD(ref) + NumberUtils.valueOf(limit, double.class), ref));
-    } else if (BigDecimal.class.equals(limit.getClass())) {
-      if (NumberUtils.compareTo((BigDecimal) limit, NumberUtils.down(limit)) == 0) {
-        limitter = new Interval(ref.minusMillis(NumberUtils.valueOf(limit, int.class)), ref.plusMillis(NumberUtils.valueOf(limit, int.class) + 1));
-      } else {
-        limitter = new Interval(toDT(toAJD(ref) - NumberUtils.valueOf(limit, double.class), ref), toDT(toAJD(ref) + NumberUtils.valueOf(limit, double.class), ref));
+    final DayBoundaries boundaries = DayBoundaries.of(temporary.getZone());
+    if (boundaries.isSameDay(millis, refMillis)) return Math.min(nextChange, boundaries.startOfNextDay(refMillis));
+    if (millis > refMillis) return Math.min(nextChange, boundaries.startOfDay(millis));
+
+    return nextChange;
+  }
+
+  /**
+   * batch of {@link #prettify(Object, Object, Locale, DateTimeZone, Object)} , with the same reference.
+   *
+   * @param thens the datetime objects.
+   * @param reference the moment of a starting point.
+   * @param locale the language for Localization.
+   * @param zone the time zone.
+   * @param limit if the moment is in the specified period, return prettified String.
+   * @return the prettified Strings, in the order of {@code thens} .
+   */
+  public static List<String> prettifyAll(final Collection<?> thens, final Object reference, final Locale locale, final DateTimeZone zone, final Object limit) {
+    return prettifyAll(thens, reference, locale, zone, limit, null);
+  }
+
+  /**
+   * batch of {@link #prettify(Object, Object, Locale, DateTimeZone, Object)} , with the same reference.
+   *
+   * @param thens the datetime objects.
+   * @param reference the moment of a starting point.
+   * @param locale the language for Localization.
+   * @param zone the time zone.
+   * @param limit if the moment is in the specified period, return prettified String.
+   * @param executor prettify in parallel if the batch is large enough, null means sequential.
+   * @return the prettified Strings, in the order of {@code thens} .
+   */
+  public static List<String> prettifyAll(final Collection<?> thens, final Object reference, final Locale locale, final DateTimeZone zone, final Object limit, final ExecutorService executor) {
+    if (thens == null) throw new IllegalArgumentException("thens must NOT be empty.");
+    final Object[] instants = thens.toArray();
+    final String[] results = new String[instants.length];
+    final Batch batch = new Batch(reference, locale, zone, limit);
+    new DateTimeUtils.BulkConversion(instants.length, Batch.THRESHOLD) {
+      @Override
+      void convert(int from, int to) {
+        for (int i = from; i < to; i++) {
+          results[i] = batch.prettify(DateTimeUtils.toDT(instants[i], batch.zone, true));
+        }
       }
-    } else if (Number.class.isAssignableFrom(ClassUtils.primitiveToWrapper(limit.getClass()))) {
-      limitter = new Interval(ref.minusMillis(NumberUtils.valueOf(limit, int.class)), ref.plusMillis(NumberUtils.valueOf(limit, int.class) + 1));
-    }
-    if (DateTime.class.equals(limit.getClass())) {
-      limitter = new Interval(ref.minus(((DateTime) limit).getMillis()), ref.plus(((DateTime) limit).getMillis() + 1L));
-    }
-    if (Boolean.class.equals(limit.getClass())) {
-      limitter = new Interval(temporary.minusMillis(1), ((Boolean) limit) ? temporary.plusMillis(1) : temporary.minusMillis(1));
-    }
-    if (limitter == null) return doPrettify(temporary, ref, locale);
-    if (limitter.contains(temporary)) return doPrettify(temporary, ref, locale);
+    }.run(executor);
+
+    return Arrays.asList(results);
+  }
 
-    return toDT(temporary, GJChronology.getInstance(temporary.getZone())).toString(DateTimeFormat.forStyle(isToday(temporary, temporary.getZone()) ? "-M" : "MS").withLocale(locale == null ? Locale.ROOT : locale));
+  /**
+   * batch of {@link #prettify(Object, Object, Locale, DateTimeZone, Object)} , with the same reference.
+   *
+   * @param thens the epoch millis.
+   * @param reference the moment of a starting point.
+   * @param locale the language for Localization.
+   * @param zone the time zone.
+   * @param limit if the moment is in the specified period, return prettified String.
+   * @return the prettified Strings, in the order of {@code thens} .
+   */
+  public static String[] prettifyAll(final long[] thens, final Object reference, final Locale locale, final DateTimeZone zone, final Object limit) {
+    return prettifyAll(thens, reference, locale, zone, limit, null);
   }
+
+  /**
+   * batch of {@link #prettify(Object, Object, Locale, DateTimeZone, Object)} , with the same reference.
+   *
+   * @param thens the epoch millis.
+   * @param reference the moment of a starting point.
+   * @param locale the language for Localization.
+   * @param zone the time zone.
+   * @param limit if the moment is in the specified period, return prettified String.
+   * @param executor prettify in parallel if the batch is large enough, null means sequential.
+   * @return the prettified Strings, in the order of {@code thens} .
+   */
+  public static String[] prettifyAll(final long[] thens, final Object reference, final Locale locale, final DateTimeZone zone, final Object limit, final ExecutorService executor) {
+    if (thens == null) throw new IllegalArgumentException("thens must NOT be empty.");
+    final String[] results = new String[thens.length];
+    final Batch batch = new Batch(reference, locale, zone, limit);
+    new DateTimeUtils.BulkConversion(thens.length, Batch.THRESHOLD) {
+      @Override
+      void convert(int from, int to) {
+        for (int i = from; i < to; i++) {
+          results[i] = batch.prettify(DateTimeUtils.toDT(thens[i], batch.zone, true));
+        }
+      }
+    }.run(executor);
+
+    return results;
+  }
+
   public static void main(String[] args) {
     System.out.println(isToday(DateTime.now(), DateTimeZone.getDefault()));
     System.out.println(prettify(DateTime.now().minusMinutes(10), DateTime.now(), Locale.JAPAN, DateTimeZone.getDefault(), false));
@@ -141,6 +369,79 @@ public class JodaPrettifier {
     return prettify(then, reference, Localizer.getAvailableLocale(locale), Localizer.getDateTimeZone(zone), null);
   }
 
+  /**
+   * the stringified date-time, for the moment out of limit.
+   *
+   * @param then the moment.
+   * @param locale the language for localization.
+   * @return the stringified date-time.
+   */
+  private static String format(final DateTime then, final Locale locale) {
+    return getFallbackFormatter(then, locale).print(then);
+  }
+
+  /**
+   * the formatter for the moment out of limit.
+   *
+   * @param then the moment.
+   * @param locale the language for localization.
+   * @return the formatter.
+   */
+  private static DateTimeFormatter getFallbackFormatter(final DateTime then, final Locale locale) {
+    final DateTimeZone zone = then.getZone();
+    final boolean today = DayBoundaries.of(zone).isToday(then.getMillis(), DateTimeUtils.getCurrentMillis());
+    final boolean julian = then.getMillis() < DateTimeUtils.GREGORIAN_CUTOVER;
+    final int index = (today ? 0 : 2) + (julian ? 0 : 1);
+    final Locale aLocale = locale == null ? Locale.ROOT : locale;
+    AtomicReferenceArray<DateTimeFormatter> formatters = getFallbackFormatters(aLocale, zone);
+    DateTimeFormatter formatter = formatters.get(index);
+    if (formatter != null) return formatter;
+    formatter = DateTimeFormat.forStyle(today ? "-M" : "MS").withLocale(aLocale).withChronology(julian ? GJChronology.getInstance(zone) : ISOChronology.getInstance(zone));
+    formatters.lazySet(index, formatter);
+
+    return formatter;
+  }
+
+  /**
+   * returns the fallback formatters of specified locale and zone, the cache is discarded when it exceeds {@link #FALLBACK_CACHE_SIZE} .
+   *
+   * @param locale the language for localization.
+   * @param zone the time zone.
+   * @return the formatters, [today / other][julian / gregorian] .
+   */
+  private static AtomicReferenceArray<DateTimeFormatter> getFallbackFormatters(final Locale locale, final DateTimeZone zone) {
+    ConcurrentMap<DateTimeZone, AtomicReferenceArray<DateTimeFormatter>> zones = FALLBACK_FORMATTERS.get(locale);
+    if (zones == null) {
+      if (FALLBACK_FORMATTERS.size() >= FALLBACK_CACHE_SIZE) FALLBACK_FORMATTERS.clear();
+      zones = new ConcurrentHashMap<DateTimeZone, AtomicReferenceArray<DateTimeFormatter>>();
+      ConcurrentMap<DateTimeZone, AtomicReferenceArray<DateTimeFormatter>> existing = FALLBACK_FORMATTERS.putIfAbsent(locale, zones);
+      if (existing != null) zones = existing;
+    }
+    AtomicReferenceArray<DateTimeFormatter> formatters = zones.get(zone);
+    if (formatters != null) return formatters;
+    if (zones.size() >= FALLBACK_CACHE_SIZE) zones.clear();
+    formatters = new AtomicReferenceArray<DateTimeFormatter>(4);
+    AtomicReferenceArray<DateTimeFormatter> existing = zones.putIfAbsent(zone, formatters);
+
+    return existing == null ? formatters : existing;
+  }
+
+  /**
+   * returns the statistics of the prettified text cached per locale.
+   *
+   * @return the statistics since the class loaded.
+   */
+  public static CacheStatistics getCacheStatistics() {
+    return new CacheStatistics(RelativeTimeFormatter.getHitCount(), RelativeTimeFormatter.getMissCount());
+  }
+
+  /**
+   * discard the prettified text cached per locale.
+   */
+  public static void clearCache() {
+    RelativeTimeFormatter.clear();
+  }
+
   /**
    * substitute for {@link org.ocpsoft.prettytime.PrettyTime#format(Date)} (Does not format Decade, in Japanese situation.) .
    *
@@ -152,9 +453,21 @@ public class JodaPrettifier {
   private static String doPrettify(final DateTime then, final DateTime reference, final Locale locale) {
     if (then == null) throw new IllegalArgumentException("arguments[0]: then is null.");
     DateTime ref = reference == null ? then.plusMillis(1) : reference;
-    PrettyTime prettyTime = new PrettyTime(ref.toDate());
-    if (locale != null && Locale.JAPANESE.getLanguage().equals(locale.getLanguage())) prettyTime.removeUnit(Decade.class);
 
-    return prettyTime.setLocale(locale == null ? Locale.ROOT : locale).format(then.toDate());
+    return RelativeTimeFormatter.of(locale).format(then.getMillis(), ref.getMillis());
+  }
+
+  /**
+   * substitute for {@link #doPrettify(DateTime, DateTime, Locale)} , writes into the appendable.
+   *
+   * @param appendable the destination.
+   * @param then the moment, must not be null.
+   * @param reference the moment of starting point.
+   * @param locale the language for localization.
+   * @throws IOException if the appendable throws.
+   */
+  private static void doPrettifyTo(final Appendable appendable, final DateTime then, final DateTime reference, final Locale locale) throws IOException {
+    DateTime ref = reference == null ? then.plusMillis(1) : reference;
+    RelativeTimeFormatter.of(locale).formatTo(appendable, then.getMillis(), ref.getMillis());
   }
 }
@@ -0,0 +1,124 @@
+/**
+ * Copyright (C) 2015+ furplag (https://github.com/furplag/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.util.time;
+
+import java.io.Closeable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.DateTimeUtils.MillisProvider;
+
+/**
+ * clocks for {@link DateTimeUtils#setClock(MillisProvider)} .
+ *
+ * @author furplag
+ */
+public final class MillisProviders {
+
+  /**
+   * the clock which is refreshed by a background ticker in every specified millis.
+   */
+  public static final class CoarseMillisProvider implements MillisProvider, Closeable {
+
+    private CoarseMillisProvider(final long granularity) {
+      millis = System.currentTimeMillis();
+      ticker = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+          Thread thread = new Thread(runnable, CoarseMillisProvider.class.getSimpleName());
+          thread.setDaemon(true);
+
+          return thread;
+        }
+      });
+      ticker.scheduleAtFixedRate(new Runnable() {
+        @Override
+        public void run() {
+          millis = System.currentTimeMillis();
+        }
+      }, granularity, granularity, TimeUnit.MILLISECONDS);
+    }
+
+    private volatile long millis;
+
+    private final ScheduledExecutorService ticker;
+
+    @Override
+    public long getMillis() {
+      return millis;
+    }
+
+    /**
+     * stop the ticker, the clock stops at the last refreshed time.
+     */
+    @Override
+    public void close() {
+      ticker.shutdownNow();
+    }
+  }
+
+  /** the clock of Joda-Time, means {@link org.joda.time.DateTimeUtils#currentTimeMillis()} . */
+  private static final MillisProvider JODA = new MillisProvider() {
+    @Override
+    public long getMillis() {
+      return org.joda.time.DateTimeUtils.currentTimeMillis();
+    }
+  };
+
+  /**
+   * {@code MillisProviders} instances should NOT be constructed in standard programming.
+   */
+  private MillisProviders() {}
+
+  /**
+   * returns the clock which reads {@link org.joda.time.DateTimeUtils#currentTimeMillis()} every time.
+   *
+   * @return the clock.
+   */
+  public static MillisProvider joda() {
+    return JODA;
+  }
+
+  /**
+   * returns the clock which always returns the specified millis.
+   *
+   * @param millis the epoch millis from 1970-01-01T0Z.
+   * @return the clock.
+   */
+  public static MillisProvider fixed(final long millis) {
+    return new MillisProvider() {
+      @Override
+      public long getMillis() {
+        return millis;
+      }
+    };
+  }
+
+  /**
+   * returns the clock which is refreshed in every {@code granularity} millis by a daemon thread.
+   *
+   * @param granularity the interval of refresh in milliseconds.
+   * @return the clock, should be closed if it is no longer used.
+   */
+  public static CoarseMillisProvider coarse(final long granularity) {
+    if (granularity < 1) throw new IllegalArgumentException("granularity must be greater than zero.");
+
+    return new CoarseMillisProvider(granularity);
+  }
+}
@@ -0,0 +1,217 @@
+/**
+ * Copyright (C) 2015+ furplag (https://github.com/furplag/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.util.time;
+
+import java.math.BigDecimal;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.Period;
+import org.joda.time.ReadablePeriod;
+
+/**
+ * the period around the reference, which {@link JodaPrettifier} prettifies the moment in.
+ * <p>
+ * compiled from the limit of {@link JodaPrettifier#prettify(Object, Object, java.util.Locale, DateTimeZone, Object)} into the millis before and after the reference.
+ * the limit of {@link Period} depends on the calendar, so that resolved at the reference.
+ * instances are immutable and thread-safe.
+ * </p>
+ *
+ * @author furplag
+ */
+public final class PrettifyPolicy {
+
+  /** prettify all moments. */
+  public static final PrettifyPolicy ALL = new PrettifyPolicy(Long.MAX_VALUE, Long.MAX_VALUE, null);
+
+  /** never prettify. */
+  public static final PrettifyPolicy NONE = new PrettifyPolicy(-1L, 0L, null);
+
+  private PrettifyPolicy(final long before, final long after, final Period period) {
+    this.before = before;
+    this.after = after;
+    this.period = period;
+  }
+
+  /** the millis before the reference, inclusive. */
+  private final long before;
+
+  /** the millis after the reference, exclusive. */
+  private final long after;
+
+  /** the period which is resolved at the reference, or null. */
+  private final Period period;
+
+  /**
+   * compile the limit.
+   * <ul>
+   * <li>{@code null} : prettify all.</li>
+   * <li>{@link ReadablePeriod} : the period before and after the reference.</li>
+   * <li>{@link Double}, {@link Float} and fractional {@link BigDecimal} : the days before and after the reference.</li>
+   * <li>other {@link Number} : the millis before and after the reference.</li>
+   * <li>{@link DateTime} : the epoch millis of the date-time, means the millis before and after the reference.</li>
+   * <li>{@link Boolean} : prettify all if true, or never prettify.</li>
+   * <li>{@link PrettifyPolicy} : itself.</li>
+   * </ul>
+   *
+   * @param limit the limit.
+   * @return the policy, {@link #ALL} if the limit is unknown.
+   */
+  public static PrettifyPolicy of(final Object limit) {
+    if (limit == null) return ALL;
+    if (limit instanceof PrettifyPolicy) return (PrettifyPolicy) limit;
+    if (limit instanceof Boolean) return ((Boolean) limit) ? ALL : NONE;
+    if (limit instanceof ReadablePeriod) return ofPeriod(new Period(limit));
+    if (limit instanceof Double || limit instanceof Float) return ofDays(((Number) limit).doubleValue());
+    if (limit instanceof BigDecimal) {
+      BigDecimal days = (BigDecimal) limit;
+      if (days.signum() == 0 || days.stripTrailingZeros().scale() <= 0) return ofMillis(days.longValue());
+
+      return ofDays(days.doubleValue());
+    }
+    if (limit instanceof Number) return ofMillis(((Number) limit).longValue());
+    if (DateTime.class.equals(limit.getClass())) return ofMillis(((DateTime) limit).getMillis());
+
+    return ALL;
+  }
+
+  /**
+   * the moments from {@code days} before to {@code days} after the reference (exclusive) .
+   *
+   * @param days the julian days.
+   * @return the policy.
+   */
+  public static PrettifyPolicy ofDays(final double days) {
+    if (Double.isNaN(days) || Double.isInfinite(days)) throw new IllegalArgumentException("days must be finite.");
+    final long millis = Math.round(days * DateTimeUtils.MILLIS_OF_DAY);
+    if (millis < 0) throw new IllegalArgumentException("days must NOT be negative.");
+
+    return new PrettifyPolicy(millis, millis, null);
+  }
+
+  /**
+   * the moments from {@code millis} before to {@code millis} after the reference (inclusive) .
+   *
+   * @param millis the millis.
+   * @return the policy.
+   */
+  public static PrettifyPolicy ofMillis(final long millis) {
+    if (millis < 0) throw new IllegalArgumentException("millis must NOT be negative.");
+
+    return new PrettifyPolicy(millis, millis == Long.MAX_VALUE ? millis : millis + 1L, null);
+  }
+
+  /**
+   * the moments from {@code period} before to {@code period} after the reference (inclusive) .
+   *
+   * @param period the period.
+   * @return the policy.
+   */
+  public static PrettifyPolicy ofPeriod(final ReadablePeriod period) {
+    if (period == null) throw new IllegalArgumentException("period must NOT be empty.");
+    final Period aPeriod = new Period(period);
+    if (aPeriod.getYears() != 0 || aPeriod.getMonths() != 0 || aPeriod.getWeeks() != 0 || aPeriod.getDays() != 0) return new PrettifyPolicy(0L, 0L, aPeriod);
+    final long millis = aPeriod.toStandardDuration().getMillis();
+    if (millis < 0) throw new IllegalArgumentException("period must NOT be negative.");
+
+    return new PrettifyPolicy(millis, millis + 1L, null);
+  }
+
+  /**
+   * if {@code true}, the moment should be prettified.
+   *
+   * @param then the epoch millis of the moment.
+   * @param reference the epoch millis of the reference.
+   * @param zone the time zone, which the period is resolved in.
+   * @return {@code true} if the moment is in the period around the reference.
+   */
+  public boolean contains(final long then, final long reference, final DateTimeZone zone) {
+    if (this == ALL) return true;
+    if (this == NONE) return false;
+    if (period != null) return resolve(reference, zone).contains(then, reference, zone);
+    final long distance = then - reference;
+    if (((then ^ reference) & (then ^ distance)) < 0) return false;
+
+    return -before <= distance && distance < after;
+  }
+
+  /**
+   * returns the moment of the reference when {@link #contains(long, long, DateTimeZone)} changes.
+   * <p>
+   * the period which depends on the calendar is resolved at the reference.
+   * </p>
+   *
+   * @param then the epoch millis of the moment.
+   * @param reference the epoch millis of the reference.
+   * @param zone the time zone, which the period is resolved in.
+   * @return the epoch millis of the reference, or {@link Long#MAX_VALUE} if never changes.
+   */
+  long getNextChange(final long then, final long reference, final DateTimeZone zone) {
+    if (this == ALL || this == NONE) return Long.MAX_VALUE;
+    if (period != null) return resolve(reference, zone).getNextChange(then, reference, zone);
+    if (after <= -before) return Long.MAX_VALUE;
+    final long last = add(then, before);
+    if (contains(then, reference, zone)) return last == Long.MAX_VALUE ? Long.MAX_VALUE : last + 1L;
+    if (reference > last) return Long.MAX_VALUE;
+
+    return add(then, -after) + 1L;
+  }
+
+  /**
+   * if {@code true}, all moments should be prettified.
+   *
+   * @return {@code true} if this policy is {@link #ALL} .
+   */
+  public boolean isAll() {
+    return this == ALL;
+  }
+
+  /**
+   * returns the policy resolved at the reference, which never depends on the calendar.
+   *
+   * @param reference the epoch millis of the reference.
+   * @param zone the time zone.
+   * @return the policy, or this if resolved already.
+   */
+  public PrettifyPolicy resolve(final long reference, final DateTimeZone zone) {
+    if (period == null) return this;
+    final DateTime ref = DateTimeUtils.toDT(reference, zone == null ? DateTimeZone.UTC : zone);
+
+    return new PrettifyPolicy(reference - ref.minus(period).getMillis(), ref.plusMillis(1).plus(period).getMillis() - reference, null);
+  }
+
+  /**
+   * {@code millis + amount} , saturated at {@link Long#MIN_VALUE} and {@link Long#MAX_VALUE} .
+   *
+   * @param millis the epoch millis.
+   * @param amount the millis to add.
+   * @return the sum.
+   */
+  private static long add(final long millis, final long amount) {
+    final long sum = millis + amount;
+    if (((millis ^ sum) & (amount ^ sum)) < 0) return amount < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+
+    return sum;
+  }
+
+  @Override
+  public String toString() {
+    if (period != null) return getClass().getSimpleName() + "(" + period + ")";
+
+    return getClass().getSimpleName() + "(-" + before + "ms, +" + after + "ms)";
+  }
+}
@@ -0,0 +1,104 @@
+/**
+ * Copyright (C) 2015+ furplag (https://github.com/furplag/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.util.time;
+
+/**
+ * the moment relative to the reference, in the unit which {@link JodaPrettifier} renders.
+ * <p>
+ * the structured substitute for the prettified text, to localize in other place.
+ * the moment out of limit has no unit, only the epoch millis.
+ * </p>
+ *
+ * @author furplag
+ */
+public final class RelativeTime {
+
+  RelativeTime(final RelativeTimeUnit unit, final long quantity, final long millis) {
+    this.unit = unit;
+    this.quantity = quantity;
+    this.millis = millis;
+  }
+
+  /** the unit, or null if the moment is out of limit. */
+  private final RelativeTimeUnit unit;
+
+  /** the signed quantity, negative means the past. */
+  private final long quantity;
+
+  /** the epoch millis of the moment. */
+  private final long millis;
+
+  /**
+   * returns the unit.
+   *
+   * @return the unit, or null if the moment is out of limit.
+   */
+  public RelativeTimeUnit getUnit() {
+    return unit;
+  }
+
+  /**
+   * returns the quantity of the unit, rounded in the same way as the prettified text.
+   * <p>
+   * the quantity of {@link RelativeTimeUnit#JUST_NOW} is -1 or 1, and the quantity of the moment out of limit is 0.
+   * </p>
+   *
+   * @return the signed quantity, negative means the past.
+   */
+  public long getQuantity() {
+    return quantity;
+  }
+
+  /**
+   * if {@code true}, the moment is out of limit, which {@link JodaPrettifier} renders as the stringified date-time.
+   *
+   * @return {@code true} if the moment has no unit.
+   */
+  public boolean isOutOfLimit() {
+    return unit == null;
+  }
+
+  /**
+   * returns the moment.
+   *
+   * @return the epoch millis from 1970-01-01T0Z.
+   */
+  public long getMillis() {
+    return millis;
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) return true;
+    if (!(obj instanceof RelativeTime)) return false;
+    final RelativeTime other = (RelativeTime) obj;
+
+    return unit == other.unit && quantity == other.quantity && millis == other.millis;
+  }
+
+  @Override
+  public int hashCode() {
+    return (((unit == null ? 0 : unit.hashCode()) * 31) + (int) (quantity ^ (quantity >>> 32))) * 31 + (int) (millis ^ (millis >>> 32));
+  }
+
+  @Override
+  public String toString() {
+    if (unit == null) return getClass().getSimpleName() + "(" + millis + ")";
+
+    return getClass().getSimpleName() + "(" + quantity + " " + unit + ", " + millis + ")";
+  }
+}
@@ -0,0 +1,375 @@
+/**
+ * Copyright (C) 2015+ furplag (https://github.com/furplag/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.util.time;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.ocpsoft.prettytime.PrettyTime;
+import org.ocpsoft.prettytime.units.Decade;
+
+/**
+ * table-driven substitute for {@link org.ocpsoft.prettytime.PrettyTime#format(java.util.Date)} , renders the same text without any intermediate object.
+ * <p>
+ * renders the locales which PrettyTime renders in English or Japanese by itself, and delegates other locales to PrettyTime.
+ * the text depends only on the unit, the quantity and the direction, so that the rendered text is cached per formatter.
+ * </p>
+ *
+ * @author furplag
+ */
+final class RelativeTimeFormatter {
+
+  /** the resources of PrettyTime, resolved to find out the language PrettyTime uses. */
+  private static final String BUNDLE = "org.ocpsoft.prettytime.i18n.Resources";
+
+  private static final int PAST_SINGULAR = 0;
+
+  private static final int PAST_PLURAL = 1;
+
+  private static final int FUTURE_SINGULAR = 2;
+
+  private static final int FUTURE_PLURAL = 3;
+
+  /** the maximum number of locales to cache the formatter. */
+  private static final int CACHE_SIZE = 64;
+
+  /** the quantity (truncated) which is rendered without caching. */
+  private static final int CACHED_QUANTITIES = 128;
+
+  private static final int UNITS = RelativeTimeUnit.values().length;
+
+  private static final ConcurrentMap<Locale, RelativeTimeFormatter> FORMATTERS = new ConcurrentHashMap<Locale, RelativeTimeFormatter>();
+
+  /** the statistics of the formatters which had been discarded. */
+  private static final AtomicLong DISCARDED_HITS = new AtomicLong();
+
+  private static final AtomicLong DISCARDED_MISSES = new AtomicLong();
+
+  /** {@link PrettyTime} is not thread-safe, so instances are confined to the thread, and cached per locale. */
+  private static final ThreadLocal<Map<Locale, PrettyTime>> PRETTY_TIMES = new ThreadLocal<Map<Locale, PrettyTime>>() {
+    @Override
+    protected Map<Locale, PrettyTime> initialValue() {
+      return new HashMap<Locale, PrettyTime>();
+    }
+  };
+
+  private RelativeTimeFormatter(final Locale locale, final boolean decade, final String pastPrefix, final String futurePrefix, final String justNowPast, final String justNowFuture, final String[][] suffixes, final long[] multipliers) {
+    this.locale = locale;
+    this.decade = decade;
+    this.pastPrefix = pastPrefix;
+    this.futurePrefix = futurePrefix;
+    this.justNowPast = justNowPast;
+    this.justNowFuture = justNowFuture;
+    this.suffixes = suffixes;
+    this.multipliers = multipliers;
+  }
+
+  /** the locale to render by PrettyTime. */
+  private final Locale locale;
+
+  /** if false, never use the unit of decade. */
+  private final boolean decade;
+
+  private final String pastPrefix;
+
+  private final String futurePrefix;
+
+  private final String justNowPast;
+
+  private final String justNowFuture;
+
+  /** the text after the quantity, [past / future, singular / plural][unit] , null means to render by PrettyTime. */
+  private final String[][] suffixes;
+
+  /** the quantity of unit is rendered multiplied, e.g. one decade is "10 years" in Japanese. */
+  private final long[] multipliers;
+
+  /** the rendered text, indexed by {@link #getCacheIndex(RelativeTimeUnit, boolean, long, boolean)} . */
+  private final AtomicReferenceArray<String> cache = new AtomicReferenceArray<String>(UNITS * 4 * CACHED_QUANTITIES);
+
+  private final AtomicLong hits = new AtomicLong();
+
+  private final AtomicLong misses = new AtomicLong();
+
+  /**
+   * returns the formatter for the locale.
+   *
+   * @param locale the language for localization, null means ROOT.
+   * @return the formatter.
+   */
+  static RelativeTimeFormatter of(final Locale locale) {
+    final Locale aLocale = locale == null ? Locale.ROOT : locale;
+    RelativeTimeFormatter formatter = FORMATTERS.get(aLocale);
+    if (formatter != null) return formatter;
+    if (FORMATTERS.size() >= CACHE_SIZE) clear();
+    formatter = newInstance(aLocale);
+    RelativeTimeFormatter existing = FORMATTERS.putIfAbsent(aLocale, formatter);
+
+    return existing == null ? formatter : existing;
+  }
+
+  /**
+   * discard the formatters and the text they cached, the statistics are kept.
+   */
+  static void clear() {
+    for (Locale locale : FORMATTERS.keySet()) {
+      RelativeTimeFormatter formatter = FORMATTERS.remove(locale);
+      if (formatter == null) continue;
+      DISCARDED_HITS.addAndGet(formatter.hits.get());
+      DISCARDED_MISSES.addAndGet(formatter.misses.get());
+    }
+  }
+
+  /**
+   * returns the number of the text served from the cache.
+   *
+   * @return the number of the cache hits.
+   */
+  static long getHitCount() {
+    long count = DISCARDED_HITS.get();
+    for (RelativeTimeFormatter formatter : FORMATTERS.values()) {
+      count += formatter.hits.get();
+    }
+
+    return count;
+  }
+
+  /**
+   * returns the number of the text rendered.
+   *
+   * @return the number of the cache misses.
+   */
+  static long getMissCount() {
+    long count = DISCARDED_MISSES.get();
+    for (RelativeTimeFormatter formatter : FORMATTERS.values()) {
+      count += formatter.misses.get();
+    }
+
+    return count;
+  }
+
+  /**
+   * render the moment relative to the reference.
+   *
+   * @param then the epoch millis of the moment.
+   * @param reference the epoch millis of the reference.
+   * @return the prettified string.
+   */
+  String format(final long then, final long reference) {
+    final long difference = then - reference;
+    final RelativeTimeUnit unit = RelativeTimeUnit.of(difference, decade);
+    final long quantity = unit.quantity(difference);
+    final boolean roundUp = RelativeTimeUnit.JUST_NOW.equals(unit) ? false : unit.roundedQuantity(difference) > Math.abs(quantity);
+    final int index = getCacheIndex(unit, quantity < 0, Math.abs(quantity), roundUp);
+    String text = index < 0 ? null : cache.get(index);
+    if (text != null) {
+      hits.incrementAndGet();
+
+      return text;
+    }
+    misses.incrementAndGet();
+    text = render(then, reference, unit, quantity < 0, Math.abs(quantity) + (roundUp ? 1L : 0L));
+    if (index > -1) cache.lazySet(index, text);
+
+    return text;
+  }
+
+  /**
+   * render the moment relative to the reference, into the appendable.
+   * <p>
+   * the cached text is appended as is, and the text which is too long to cache is appended in pieces, with digits written directly.
+   * </p>
+   *
+   * @param appendable the destination.
+   * @param then the epoch millis of the moment.
+   * @param reference the epoch millis of the reference.
+   * @return the appendable.
+   * @throws IOException if the appendable throws.
+   */
+  <T extends Appendable> T formatTo(final T appendable, final long then, final long reference) throws IOException {
+    final long difference = then - reference;
+    final RelativeTimeUnit unit = RelativeTimeUnit.of(difference, decade);
+    final long quantity = unit.quantity(difference);
+    final boolean roundUp = RelativeTimeUnit.JUST_NOW.equals(unit) ? false : unit.roundedQuantity(difference) > Math.abs(quantity);
+    if (suffixes == null || getCacheIndex(unit, quantity < 0, Math.abs(quantity), roundUp) > -1) {
+      appendable.append(format(then, reference));
+
+      return appendable;
+    }
+    misses.incrementAndGet();
+    final boolean past = quantity < 0;
+    final long rounded = Math.abs(quantity) + (roundUp ? 1L : 0L);
+    appendable.append(past ? pastPrefix : futurePrefix);
+    appendDigits(appendable, rounded * multipliers[unit.ordinal()]);
+    appendable.append(suffixes[(past ? PAST_SINGULAR : FUTURE_SINGULAR) + (rounded == 1 ? 0 : 1)][unit.ordinal()]);
+
+    return appendable;
+  }
+
+  /**
+   * returns the moment relative to the reference, in the unit and the quantity which {@link #format(long, long)} renders.
+   *
+   * @param then the epoch millis of the moment.
+   * @param reference the epoch millis of the reference.
+   * @return the structured moment.
+   */
+  RelativeTime toRelativeTime(final long then, final long reference) {
+    final long difference = then - reference;
+    final RelativeTimeUnit unit = RelativeTimeUnit.of(difference, decade);
+    final long sign = unit.quantity(difference) < 0 ? -1L : 1L;
+
+    return new RelativeTime(unit, RelativeTimeUnit.JUST_NOW.equals(unit) ? sign : unit.roundedQuantity(difference) * sign, then);
+  }
+
+  /**
+   * returns the moment of the reference when the rendered text changes.
+   *
+   * @param then the epoch millis of the moment.
+   * @param reference the epoch millis of the reference.
+   * @return the epoch millis of the reference which renders another text, or {@link Long#MAX_VALUE} if never.
+   */
+  long getNextChange(final long then, final long reference) {
+    final long next = reference + RelativeTimeUnit.untilChange(then - reference, decade);
+
+    return next < reference ? Long.MAX_VALUE : next;
+  }
+
+  /**
+   * the index of the cached text, the unit and the quantity (truncated) and rounding determine the text.
+   *
+   * @param unit the unit.
+   * @param past the direction.
+   * @param quantity the absolute quantity, truncated.
+   * @param roundUp whether the quantity is rounded up.
+   * @return the index, or -1 if the quantity is too large to cache.
+   */
+  private static int getCacheIndex(final RelativeTimeUnit unit, final boolean past, final long quantity, final boolean roundUp) {
+    if (RelativeTimeUnit.JUST_NOW.equals(unit)) return past ? 1 : 0;
+    if (quantity >= CACHED_QUANTITIES) return -1;
+
+    return (((((unit.ordinal() << 1) | (past ? 1 : 0)) << 1) | (roundUp ? 1 : 0)) * CACHED_QUANTITIES) + (int) quantity;
+  }
+
+  /**
+   * write the decimal digits of the number, without constructing any string.
+   *
+   * @param appendable the destination.
+   * @param number the number, must NOT be negative.
+   * @throws IOException if the appendable throws.
+   */
+  private static void appendDigits(final Appendable appendable, final long number) throws IOException {
+    long divisor = 1L;
+    while (number / divisor >= 10L) {
+      divisor *= 10L;
+    }
+    for (; divisor > 0L; divisor /= 10L) {
+      appendable.append((char) ('0' + ((number / divisor) % 10L)));
+    }
+  }
+
+  /**
+   * render the text for the cache miss.
+   *
+   * @param then the epoch millis of the moment.
+   * @param reference the epoch millis of the reference.
+   * @param unit the unit.
+   * @param past the direction.
+   * @param quantity the absolute quantity, rounded.
+   * @return the prettified string.
+   */
+  private String render(final long then, final long reference, final RelativeTimeUnit unit, final boolean past, final long quantity) {
+    if (suffixes == null) return getPrettyTime(locale).setReference(new Date(reference)).format(new Date(then));
+    if (RelativeTimeUnit.JUST_NOW.equals(unit)) return past ? justNowPast : justNowFuture;
+    StringBuilder text = new StringBuilder(32).append(past ? pastPrefix : futurePrefix);
+    text.append(quantity * multipliers[unit.ordinal()]);
+
+    return text.append(suffixes[(past ? PAST_SINGULAR : FUTURE_SINGULAR) + (quantity == 1 ? 0 : 1)][unit.ordinal()]).toString();
+  }
+
+  /**
+   * returns the {@link PrettyTime} of the locale, confined to the current thread.
+   *
+   * @param locale the language for localization.
+   * @return the {@link PrettyTime} , the reference should be set before use.
+   */
+  private static PrettyTime getPrettyTime(final Locale locale) {
+    Map<Locale, PrettyTime> prettyTimes = PRETTY_TIMES.get();
+    PrettyTime prettyTime = prettyTimes.get(locale);
+    if (prettyTime != null) return prettyTime;
+    prettyTime = new PrettyTime();
+    if (Locale.JAPANESE.getLanguage().equals(locale.getLanguage())) prettyTime.removeUnit(Decade.class);
+    prettyTimes.put(locale, prettyTime.setLocale(locale));
+
+    return prettyTime;
+  }
+
+  private static RelativeTimeFormatter newInstance(final Locale locale) {
+    final boolean decade = !Locale.JAPANESE.getLanguage().equals(locale.getLanguage());
+    final Locale resolved;
+    try {
+      resolved = ResourceBundle.getBundle(BUNDLE, locale).getLocale();
+    } catch (MissingResourceException e) {
+      return new RelativeTimeFormatter(locale, decade, null, null, null, null, null, null);
+    }
+    if (Locale.ROOT.equals(resolved) || Locale.ENGLISH.getLanguage().equals(resolved.getLanguage())) return english(locale, decade);
+    if (Locale.JAPANESE.getLanguage().equals(resolved.getLanguage())) return japanese(locale, decade);
+
+    return new RelativeTimeFormatter(locale, decade, null, null, null, null, null, null);
+  }
+
+  private static RelativeTimeFormatter english(final Locale locale, final boolean decade) {
+    final String[] singulars = { "", "millisecond", "second", "minute", "hour", "day", "week", "month", "year", "decade", "century", "millennium" };
+    final String[] plurals = { "", "milliseconds", "seconds", "minutes", "hours", "days", "weeks", "months", "years", "decades", "centuries", "millennia" };
+    final String[][] suffixes = new String[4][singulars.length];
+    final long[] multipliers = new long[singulars.length];
+    for (int i = 0; i < singulars.length; i++) {
+      suffixes[PAST_SINGULAR][i] = " " + singulars[i] + " ago";
+      suffixes[PAST_PLURAL][i] = " " + plurals[i] + " ago";
+      suffixes[FUTURE_SINGULAR][i] = " " + singulars[i] + " from now";
+      suffixes[FUTURE_PLURAL][i] = " " + plurals[i] + " from now";
+      multipliers[i] = 1L;
+    }
+
+    return new RelativeTimeFormatter(locale, decade, "", "", "moments ago", "moments from now", suffixes, multipliers);
+  }
+
+  private static RelativeTimeFormatter japanese(final Locale locale, final boolean decade) {
+    final String[] names = { "", "ミリ秒", "秒", "分", "時間", "日", "週間", "ヶ月", "年", "年", "世紀", "年" };
+    final String[][] suffixes = new String[4][names.length];
+    final long[] multipliers = new long[names.length];
+    for (int i = 0; i < names.length; i++) {
+      suffixes[PAST_SINGULAR][i] = names[i] + "前";
+      suffixes[PAST_PLURAL][i] = names[i] + "前";
+      suffixes[FUTURE_SINGULAR][i] = names[i] + "後";
+      suffixes[FUTURE_PLURAL][i] = names[i] + "後";
+      multipliers[i] = 1L;
+    }
+    multipliers[RelativeTimeUnit.DECADE.ordinal()] = 10L;
+    multipliers[RelativeTimeUnit.MILLENNIUM.ordinal()] = 1000L;
+
+    return new RelativeTimeFormatter(locale, decade, "", "今から", "たった今", "今からすぐ", suffixes, multipliers);
+  }
+}
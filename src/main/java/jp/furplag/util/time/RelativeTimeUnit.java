@@ -0,0 +1,146 @@
+/**
+ * Copyright (C) 2015+ furplag (https://github.com/furplag/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.util.time;
+
+/**
+ * the units of relative time, the same as the units of {@link org.ocpsoft.prettytime.PrettyTime} .
+ * <p>
+ * {@link #JUST_NOW} means the moment within one minute from the reference, and {@link #MILLISECOND} is never used in practice.
+ * </p>
+ *
+ * @author furplag
+ */
+public enum RelativeTimeUnit {
+  JUST_NOW(1L, 60000L), MILLISECOND(1L, 0L), SECOND(1000L, 0L), MINUTE(60000L, 0L), HOUR(3600000L, 0L), DAY(86400000L, 0L), WEEK(604800000L, 0L), MONTH(2629743830L, 0L), YEAR(31556925960L, 0L), DECADE(315569259747L, 0L), CENTURY(3155692597470L, 0L), MILLENNIUM(31556926000000L, 0L);
+
+  private static final RelativeTimeUnit[] UNITS = values();
+
+  private static final RelativeTimeUnit[] UNITS_WITHOUT_DECADE = { JUST_NOW, MILLISECOND, SECOND, MINUTE, HOUR, DAY, WEEK, MONTH, YEAR, CENTURY, MILLENNIUM };
+
+  /** the upper bounds (exclusive) of the difference for each unit. */
+  private static final long[] BOUNDS = getBounds(UNITS);
+
+  private static final long[] BOUNDS_WITHOUT_DECADE = getBounds(UNITS_WITHOUT_DECADE);
+
+  private RelativeTimeUnit(final long millisPerUnit, final long maxQuantity) {
+    this.millisPerUnit = millisPerUnit;
+    this.maxQuantity = maxQuantity;
+  }
+
+  final long millisPerUnit;
+
+  private final long maxQuantity;
+
+  /**
+   * the unit for the difference.
+   *
+   * @param difference the millis from the reference to the moment.
+   * @param decade if false, never returns {@link #DECADE} .
+   * @return the unit.
+   */
+  static RelativeTimeUnit of(final long difference, final boolean decade) {
+    final long absolute = Math.abs(difference);
+    final RelativeTimeUnit[] units = decade ? UNITS : UNITS_WITHOUT_DECADE;
+    final long[] bounds = decade ? BOUNDS : BOUNDS_WITHOUT_DECADE;
+    for (int i = 0; i < bounds.length; i++) {
+      if (absolute < bounds[i]) return units[i];
+    }
+
+    return MILLENNIUM;
+  }
+
+  /**
+   * the signed quantity of the unit, truncated.
+   *
+   * @param difference the millis from the reference to the moment.
+   * @return the quantity, negative means the past.
+   */
+  long quantity(final long difference) {
+    if (millisPerUnit > Math.abs(difference)) return difference < 0 ? -1L : 1L;
+
+    return difference / millisPerUnit;
+  }
+
+  /**
+   * the absolute quantity of the unit, rounded up if the remainder is more than a half.
+   *
+   * @param difference the millis from the reference to the moment.
+   * @return the quantity, never negative.
+   */
+  long roundedQuantity(final long difference) {
+    final long quantity = quantity(difference);
+    final long delta = difference - (quantity * millisPerUnit);
+
+    return Math.abs(quantity) + (delta != 0 && Math.abs(((double) delta / (double) millisPerUnit) * 100) > 50 ? 1L : 0L);
+  }
+
+  /**
+   * the millis which the reference could advance until the rendered text changes.
+   * <p>
+   * the text is determined by {@link #getKey(long, boolean)} , which never decreases as the distance grows in the same direction,
+   * so the first change is found by bisection.
+   * </p>
+   *
+   * @param difference the millis from the reference to the moment.
+   * @param decade if false, never use {@link #DECADE} .
+   * @return the millis to the change, or {@link Long#MAX_VALUE} if the text never changes.
+   */
+  static long untilChange(final long difference, final boolean decade) {
+    final long key = getKey(difference, decade);
+    long lower = 0L;
+    long upper = difference < 0 ? of(difference, decade).millisPerUnit : difference + 1L;
+    while (getKey(difference - upper, decade) == key) {
+      if (upper > (difference - Long.MIN_VALUE) / 2L) return Long.MAX_VALUE;
+      lower = upper;
+      upper *= 2;
+    }
+    while (upper - lower > 1L) {
+      final long middle = lower + ((upper - lower) / 2L);
+      if (getKey(difference - middle, decade) == key) {
+        lower = middle;
+      } else {
+        upper = middle;
+      }
+    }
+
+    return upper;
+  }
+
+  /**
+   * the unit, the direction and the rounded quantity of the difference, in a number.
+   *
+   * @param difference the millis from the reference to the moment.
+   * @param decade if false, never use {@link #DECADE} .
+   * @return the key of the rendered text.
+   */
+  private static long getKey(final long difference, final boolean decade) {
+    final RelativeTimeUnit unit = of(difference, decade);
+    final long key = (unit.ordinal() << 1) | (unit.quantity(difference) < 0 ? 1 : 0);
+    if (JUST_NOW.equals(unit)) return key;
+
+    return (unit.roundedQuantity(difference) << 5) | key;
+  }
+
+  private static long[] getBounds(final RelativeTimeUnit[] units) {
+    final long[] bounds = new long[units.length - 1];
+    for (int i = 0; i < bounds.length; i++) {
+      bounds[i] = units[i].millisPerUnit * (units[i].maxQuantity == 0 ? units[i + 1].millisPerUnit / units[i].millisPerUnit : units[i].maxQuantity);
+    }
+
+    return bounds;
+  }
+}
@@ -0,0 +1,146 @@
+/**
+ * Copyright (C) 2015+ furplag (https://github.com/furplag/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.util.time;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * the converters resolved per class, never pins the class (and its class loader) .
+ * <p>
+ * cached by {@link ClassValue} if available, or weak keys on Java 6.
+ * </p>
+ *
+ * @author furplag
+ * @param <T> the type of converter.
+ */
+abstract class ResolvedConverters<T> {
+
+  /**
+   * resolves the converter of the class, on a cache miss.
+   *
+   * @param <T> the type of converter.
+   */
+  static interface Resolver<T> {
+
+    /**
+     * @param type the class.
+     * @return the converter, never null.
+     */
+    T resolve(Class<?> type);
+  }
+
+  /** cached by {@link ClassValue} , replaced as a whole to clear. */
+  private static final class ClassValues<T> extends ResolvedConverters<T> {
+
+    private ClassValues(final Resolver<T> resolver) {
+      this.resolver = resolver;
+      values = newValues();
+    }
+
+    private final Resolver<T> resolver;
+
+    private volatile ClassValue<T> values;
+
+    @Override
+    T get(final Class<?> type) {
+      return values.get(type);
+    }
+
+    @Override
+    void clear() {
+      values = newValues();
+    }
+
+    private ClassValue<T> newValues() {
+      return new ClassValue<T>() {
+        @Override
+        protected T computeValue(Class<?> type) {
+          return resolver.resolve(type);
+        }
+      };
+    }
+  }
+
+  /** cached by {@link WeakHashMap} behind a lock. */
+  private static final class WeakKeys<T> extends ResolvedConverters<T> {
+
+    private WeakKeys(final Resolver<T> resolver) {
+      this.resolver = resolver;
+    }
+
+    private final Resolver<T> resolver;
+
+    private final Map<Class<?>, T> values = new WeakHashMap<Class<?>, T>();
+
+    /** incremented in every clear, so that a resolution racing with it is not cached. */
+    private int version;
+
+    @Override
+    T get(final Class<?> type) {
+      final int current;
+      synchronized (values) {
+        T converter = values.get(type);
+        if (converter != null) return converter;
+        current = version;
+      }
+      final T converter = resolver.resolve(type);
+      synchronized (values) {
+        if (current == version) values.put(type, converter);
+      }
+
+      return converter;
+    }
+
+    @Override
+    void clear() {
+      synchronized (values) {
+        version++;
+        values.clear();
+      }
+    }
+  }
+
+  /**
+   * returns the cache of the converters, by {@link ClassValue} if available.
+   *
+   * @param resolver resolves the converter on a cache miss.
+   * @return the cache of the converters.
+   */
+  static <T> ResolvedConverters<T> newInstance(final Resolver<T> resolver) {
+    try {
+      Class.forName("java.lang.ClassValue");
+
+      return new ClassValues<T>(resolver);
+    } catch (ClassNotFoundException e) {}
+
+    return new WeakKeys<T>(resolver);
+  }
+
+  /**
+   * returns the converter of the class, resolved once per class.
+   *
+   * @param type the class.
+   * @return the converter, never null.
+   */
+  abstract T get(Class<?> type);
+
+  /**
+   * drops the resolved converters, after a registration.
+   */
+  abstract void clear();
+}
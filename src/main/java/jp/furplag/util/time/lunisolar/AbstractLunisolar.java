@@ -1,10 +1,8 @@
 
 package jp.furplag.util.time.lunisolar;
 
-import static jp.furplag.util.commons.NumberUtils.circulate;
-
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
@@ -34,8 +32,40 @@ public abstract class AbstractLunisolar {
   private static final Map<String, String> I18N = new HashMap<String, String>();
 
   protected AbstractLunisolar(LunisolarChronology chronology) {
+    this(chronology, null);
+  }
+
+  /**
+   * @param chronology the chronology.
+   * @param ephemeris the ephemeris used in the calculation of new moons and solar terms, null means {@link Ephemerides#DEFAULT} .
+   *        the moments of an {@link EphemerisTable} are computed with the ephemeris of the table ,
+   *        so the table is ignored if the subclass overrides {@link #getELOfMoon(double)} or {@link #getELOfSun(double)} .
+   */
+  protected AbstractLunisolar(LunisolarChronology chronology, Ephemeris ephemeris) {
     if (chronology == null) throw new IllegalArgumentException("chronology must NOT be empty.");
-    daysOfYear = chronology.getDaysOfYear();
+    this.ephemeris = ephemeris == null ? Ephemerides.DEFAULT : ephemeris;
+    table = ephemeris instanceof EphemerisTable && !isOverridden("getELOfMoon") && !isOverridden("getELOfSun") ? (EphemerisTable) ephemeris : null;
+    solver = new EventSolver(new Ephemeris() {
+      @Override
+      public double getELOfMoon(double julianDay) {
+        return AbstractLunisolar.this.getELOfMoon(julianDay);
+      }
+
+      @Override
+      public double getELOfSun(double julianDay) {
+        return AbstractLunisolar.this.getELOfSun(julianDay);
+      }
+
+      @Override
+      public double getELRateOfMoon(double julianDay) {
+        return AbstractLunisolar.this.getELRateOfMoon(julianDay);
+      }
+
+      @Override
+      public double getELRateOfSun(double julianDay) {
+        return AbstractLunisolar.this.getELRateOfSun(julianDay);
+      }
+    });
     daysOfMonth = chronology.getDaysOfMonth();
     limitOfDayAdvance = chronology.getLimitOfDayAdvance();
     enforceDayAdvance = limitOfDayAdvance < 0 && limitOfDayAdvance < 1;
@@ -49,8 +79,14 @@ public abstract class AbstractLunisolar {
   /** astronomical julian day of Lunar month. */
   private final double daysOfMonth;
 
-  /** astronomical julian day of Solar year. */
-  private final double daysOfYear;
+  /** the ephemeris of Sun and Moon. */
+  private final Ephemeris ephemeris;
+
+  /** the precomputed moments of new moon and solar term, or null. */
+  private final EphemerisTable table;
+
+  /** the searches of new moon and solar term, through {@link #getELOfMoon(double)} and the others. */
+  private final EventSolver solver;
 
   /** if the moment of new moon was after 18:00 of the day, the month start to next day of actual first day of the month. */
   private final boolean enforceDayAdvance;
@@ -69,6 +105,25 @@ public abstract class AbstractLunisolar {
 
   public abstract String getString(String formatStyle, Object locale);
 
+  /**
+   * substitute for {@link #getString(String, Object)} , writes into the appendable.
+   * <p>
+   * a convenience wrapper, the text is built by {@link #getString(String, Object)} , which {@code JPLunisolar} caches per instance.
+   * </p>
+   *
+   * @param appendable the destination, e.g. {@link StringBuilder}, {@link java.io.Writer} and {@link java.nio.CharBuffer} .
+   * @param formatStyle the style of date and time.
+   * @param locale the language for localization.
+   * @return the appendable.
+   * @throws IOException if the appendable throws.
+   */
+  public <T extends Appendable> T formatTo(final T appendable, final String formatStyle, final Object locale) throws IOException {
+    if (appendable == null) throw new IllegalArgumentException("appendable must NOT be empty.");
+    appendable.append(getString(formatStyle, locale));
+
+    return appendable;
+  }
+
   private List<LunisolarMonth> getCalendar(List<Double> firstDays, List<Double> solarTerms) {
     List<LunisolarMonth> calendar = new ArrayList<LunisolarMonth>();
     for (int i = 1; i < firstDays.size(); i++) {
@@ -105,12 +160,17 @@ public abstract class AbstractLunisolar {
   }
 
   private List<Double> getDynamicalFDMs(final double fromJD, final double toJD) {
+    final double lastDay = toAJDAtStartOfDay(dayAdvance(toJD));
+    final EventIterator newMoons = new EventIterator(solver, table, fromJD + 1, true);
+    double newMoon = newMoons.previousMoment();
+    while (newMoon > lastDay - 2 || toAJDAtStartOfDay(dayAdvance(newMoon)) > fromJD) {
+      newMoon = newMoons.previousMoment();
+    }
     List<Double> firstDays = new ArrayList<Double>();
-    firstDays.add(toAJDAtStartOfDay(dayAdvance(toJD)));
-    do {
-      firstDays.add(toAJDAtStartOfDay(dayAdvance(getFirstDayOfMonth(Iterables.getLast(firstDays) - 2))));
-    } while (Iterables.getLast(firstDays) > fromJD);
-    Collections.reverse(firstDays);
+    for (newMoon = newMoons.nextMoment(); newMoon <= lastDay - 2; newMoon = newMoons.nextMoment()) {
+      firstDays.add(toAJDAtStartOfDay(dayAdvance(newMoon)));
+    }
+    firstDays.add(lastDay);
 
     return firstDays;
   }
@@ -131,15 +191,12 @@ public abstract class AbstractLunisolar {
   }
 
   private List<Double> getDynamicalSTMs(final double fromJD, final double toJD) {
-    int solarTerm = LunisolarDateTimeUtils.getSolarTerm(getELOfSun(toAJDAtEndOfDay(toJD)));
+    final double lastDay = toAJDAtEndOfDay(toJD);
+    final EventIterator terms = new EventIterator(solver, table, Math.nextAfter(fromJD, Double.NEGATIVE_INFINITY), false);
     List<Double> solarTerms = new ArrayList<Double>();
-    solarTerms.add(getLatestTerm(toAJDAtEndOfDay(toJD), 15 * solarTerm));
-    do {
-      solarTerm--;
-      solarTerms.add(getLatestTerm(Iterables.getLast(solarTerms), circulate(15 * solarTerm)));
-    } while (Iterables.getLast(solarTerms) > fromJD);
-    if (Iterables.getLast(solarTerms) < fromJD) solarTerms.remove(solarTerms.size() - 1);
-    Collections.reverse(solarTerms);
+    for (double solarTerm = terms.nextMoment(); solarTerm <= lastDay; solarTerm = terms.nextMoment()) {
+      solarTerms.add(solarTerm);
+    }
 
     return solarTerms;
   }
@@ -223,62 +280,82 @@ public abstract class AbstractLunisolar {
   }
 
   protected double getELOfMoon(double julianDay) {
-    return LunisolarDateTimeUtils.getELOfMoon(julianDay);
+    return ephemeris.getELOfMoon(julianDay);
   }
 
   protected double getELOfSun(double julianDay) {
-    return LunisolarDateTimeUtils.getELOfSun(julianDay);
+    return ephemeris.getELOfSun(julianDay);
   }
 
-  protected double getFirstDayOfMonth(final double julianDay) {
-    double temporaryN = (long) julianDay;
-    double temporaryF = julianDay - temporaryN;
-    double delta = 0d;
-    double diffN = 0d;
-    double diffF = 0d;
-    int counter = 0;
-    do {
-      counter++;
-      double elOfSun = getELOfSun(temporaryN + temporaryF);
-      double elOfMoon = getELOfMoon(temporaryN + temporaryF);
-      delta = elOfMoon - elOfSun;
-      if (counter == 1) {
-        delta = circulate(delta);
-      } else if (delta > 345) {
-        delta -= 360d;
-      } else if (delta < -15d) {
-        delta = circulate(delta);
-      }
+  protected double getELRateOfMoon(double julianDay) {
+    return ephemeris.getELRateOfMoon(julianDay);
+  }
 
-      diffF = delta * daysOfMonth / 360d;
-      diffN = (long) diffF;
-      diffF -= diffN;
-      temporaryN -= diffN;
-      temporaryF -= diffF;
-      if (Math.abs(diffN + diffF) <= 1E-8 && (temporaryN + temporaryF) - julianDay > 0) {
-        temporaryN -= 20d;
-        diffN = 1d;
-      }
-    } while (Math.abs(diffN + diffF) > 1E-8 && counter < 100);
+  protected double getELRateOfSun(double julianDay) {
+    return ephemeris.getELRateOfSun(julianDay);
+  }
 
-    return temporaryN + temporaryF;
+  /**
+   * the ephemeris used in the calculation of new moons and solar terms.
+   *
+   * @return the ephemeris given to the constructor, {@link Ephemerides#DEFAULT} if not specified, may be an {@link EphemerisTable} .
+   */
+  public Ephemeris getEphemeris() {
+    return ephemeris;
+  }
+
+  /**
+   * the number of the evaluations of the ephemeris in the searches of new moon and solar term, since constructed.
+   * counted atomically, so that it sums up the threads sharing this instance.
+   *
+   * @return the number of iterations.
+   */
+  public long getIterationCount() {
+    return solver.getIterationCount();
+  }
+
+  /**
+   * the number of the searches of new moon and solar term, since constructed.
+   * counted atomically, so that it sums up the threads sharing this instance.
+   *
+   * @return the number of searches.
+   */
+  public long getSolveCount() {
+    return solver.getSolveCount();
+  }
+
+  /**
+   * returns the latest moment of new moon until the julian day.
+   * <p>
+   * looks up the table first, if the ephemeris is an {@link EphemerisTable} ,
+   * and neither {@link #getELOfMoon(double)} nor {@link #getELOfSun(double)} is overridden.
+   * </p>
+   *
+   * @param julianDay julian day.
+   * @return the moment of new moon, by julian day.
+   */
+  protected double getFirstDayOfMonth(final double julianDay) {
+    if (table != null) {
+      final double firstDay = table.getFirstDayOfMonth(julianDay);
+      if (!Double.isNaN(firstDay)) return firstDay;
+    }
+
+    return solver.getFirstDayOfMonth(julianDay);
   }
 
   protected List<Double> getFirstDayOfMonths(final double winterSolstice) {
+    final double firstDayOfNovember = toAJDAtStartOfDay(getFirstDayOfMonth(toAJDAtEndOfDay(winterSolstice)));
+    final double lastDay = toAJDAtStartOfDay(getFirstDayOfMonth(toAJDAtEndOfDay(getLatestTerm(addMonth(winterSolstice, 14), 270))));
+    final EventIterator newMoons = new EventIterator(solver, table, toAJDAtEndOfDay(winterSolstice) + 1, true);
+    double newMoon = newMoons.previousMoment();
+    while (toAJDAtStartOfDay(enforceDayAdvance && toDT(newMoon).getHourOfDay() > 17 ? newMoon + 1 : newMoon) > firstDayOfNovember) {
+      newMoon = newMoons.previousMoment();
+    }
     List<Double> firstDays = new ArrayList<Double>();
-    double firstDayOfNovember = toAJDAtStartOfDay(getFirstDayOfMonth(toAJDAtEndOfDay(winterSolstice)));
-    firstDays.add(toAJDAtStartOfDay(getFirstDayOfMonth(toAJDAtEndOfDay(getLatestTerm(addMonth(winterSolstice, 14), 270)))));
-    do {
-      double firstDay = getFirstDayOfMonth(Iterables.getLast(firstDays) - 2);
-      System.out.print(LunisolarDateTimeUtils.toDT(firstDay, GregorianChronology.getInstance(Localizer.getDateTimeZone("+9"))));
-      if (enforceDayAdvance) {
-        if (toDT(firstDay).getHourOfDay() > 17) firstDay += 1;
-      }
-      System.out.print(" to ");
-      System.out.println(LunisolarDateTimeUtils.toDT(firstDay, GregorianChronology.getInstance(Localizer.getDateTimeZone("+9"))));
-      firstDays.add(toAJDAtStartOfDay(firstDay));
-    } while (Iterables.getLast(firstDays) > firstDayOfNovember);
-    Collections.reverse(firstDays);
+    for (newMoon = newMoons.nextMoment(); newMoon <= lastDay - 2; newMoon = newMoons.nextMoment()) {
+      firstDays.add(toAJDAtStartOfDay(enforceDayAdvance && toDT(newMoon).getHourOfDay() > 17 ? newMoon + 1 : newMoon));
+    }
+    firstDays.add(lastDay);
 
     return firstDays;
   }
@@ -312,36 +389,24 @@ public abstract class AbstractLunisolar {
     return sexagenaryCycle;
   }
 
+  /**
+   * returns the latest moment of the solar term until the julian day.
+   * <p>
+   * looks up the table first, if the ephemeris is an {@link EphemerisTable} ,
+   * and neither {@link #getELOfMoon(double)} nor {@link #getELOfSun(double)} is overridden.
+   * </p>
+   *
+   * @param julianDay julian day.
+   * @param angle ecliptic longitude of Sun.
+   * @return the moment of the solar term, by julian day.
+   */
   protected double getLatestTerm(final double julianDay, final double angle) {
-    final double expected = circulate(angle);
-    double temporaryN = (long) julianDay;
-    double temporaryF = julianDay - temporaryN;
-    double delta = 0d;
-    double diff = 0d;
-    int counter = 0;
-    do {
-      delta = getELOfSun(temporaryN + temporaryF) - expected;
-      if (counter == 0 && delta < 0d) {
-        delta = circulate(delta);
-      } else if (delta > 180d) {
-        delta -= 360d;
-      } else if (delta < -180d) {
-        delta += 360d;
-      }
-      diff = delta * daysOfYear / 360d;
-      temporaryN -= (long) diff;
-      temporaryF -= diff - ((long) diff);
-      if (temporaryF < 0) {
-        temporaryF++;
-        temporaryN--;
-      } else if (temporaryF > 1) {
-        temporaryF--;
-        temporaryN++;
-      }
-      counter++;
-    } while (Math.abs(diff) > 1E-8 && counter < 100);
+    if (table != null) {
+      final double solarTerm = table.getLatestTerm(julianDay, angle);
+      if (!Double.isNaN(solarTerm)) return solarTerm;
+    }
 
-    return temporaryN + temporaryF;
+    return solver.getLatestTerm(julianDay, angle);
   }
 
   protected int getSexagenaryOfDay(double julianDay) {
@@ -391,13 +456,13 @@ public abstract class AbstractLunisolar {
   }
 
   private List<Double> getDynamicalSolarTerms(final double winterSolstice) {
+    final double lastTerm = getLatestTerm(addMonth(winterSolstice, 14), 255);
+    final EventIterator solarTerms = new EventIterator(solver, table, getLatestTerm(winterSolstice, 255) + 1, false);
+    solarTerms.previousMoment();
     List<Double> terms = new ArrayList<Double>();
-    terms.add(getLatestTerm(addMonth(winterSolstice, 14), 255));
-    do {
-      terms.add(getLatestTerm(Iterables.getLast(terms), 255 - (15 * terms.size())));
-    } while (Iterables.getLast(terms) > toAJDAtEndOfDay(winterSolstice));
-    terms.add(getLatestTerm(winterSolstice, 255));
-    Collections.reverse(terms);
+    for (double term = solarTerms.nextMoment(); term < lastTerm + 1; term = solarTerms.nextMoment()) {
+      terms.add(term);
+    }
 
     return terms;
   }
@@ -426,6 +491,24 @@ public abstract class AbstractLunisolar {
     return terms;
   }
 
+  /**
+   * returns whether the subclass declares the ephemeris method, e.g. {@link #getELOfSun(double)} .
+   *
+   * @param methodName the name of the method.
+   * @return true if overridden.
+   */
+  private boolean isOverridden(final String methodName) {
+    for (Class<?> clazz = getClass(); clazz != AbstractLunisolar.class; clazz = clazz.getSuperclass()) {
+      try {
+        clazz.getDeclaredMethod(methodName, double.class);
+
+        return true;
+      } catch (NoSuchMethodException e) {}
+    }
+
+    return false;
+  }
+
   private double optimizeSynodicMonth(final double julianDay) {
     return ((julianDay - J2000) * SYNODIC_MONTH_INCREMENTAL) + daysOfMonth;
   }
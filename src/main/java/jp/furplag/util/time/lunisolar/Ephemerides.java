@@ -0,0 +1,117 @@
+/**
+ * Copyright (C) 2015+ furplag (https://github.com/furplag/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.util.time.lunisolar;
+
+/**
+ * the tiers of {@link Ephemeris} , trade-off between speed and precision.
+ *
+ * @author furplag
+ */
+public enum Ephemerides implements Ephemeris {
+
+  /** follows {@link LunisolarDateTimeUtils#setApproximation(boolean)} , {@link #CHEBYSHEV} by default. */
+  DEFAULT {
+    @Override
+    public double getELOfMoon(double julianDay) {
+      return LunisolarDateTimeUtils.getELOfMoon(julianDay);
+    }
+
+    @Override
+    public double getELOfSun(double julianDay) {
+      return LunisolarDateTimeUtils.getELOfSun(julianDay);
+    }
+
+    @Override
+    public double getELRateOfMoon(double julianDay) {
+      return LunisolarDateTimeUtils.getELRateOfMoon(julianDay);
+    }
+
+    @Override
+    public double getELRateOfSun(double julianDay) {
+      return LunisolarDateTimeUtils.getELRateOfSun(julianDay);
+    }
+  },
+
+  /** the short series, evaluated every time. */
+  SERIES {
+    @Override
+    public double getELOfMoon(double julianDay) {
+      return LunisolarDateTimeUtils.getELOfMoon(julianDay, false);
+    }
+
+    @Override
+    public double getELOfSun(double julianDay) {
+      return LunisolarDateTimeUtils.getELOfSun(julianDay, false);
+    }
+
+    @Override
+    public double getELRateOfMoon(double julianDay) {
+      return LunisolarDateTimeUtils.getELRateOfMoon(julianDay, false);
+    }
+
+    @Override
+    public double getELRateOfSun(double julianDay) {
+      return LunisolarDateTimeUtils.getELRateOfSun(julianDay, false);
+    }
+  },
+
+  /** the short series, approximated by the precomputed chebyshev polynomials from 400 to 2200 (the fastest) . */
+  CHEBYSHEV {
+    @Override
+    public double getELOfMoon(double julianDay) {
+      return LunisolarDateTimeUtils.getELOfMoon(julianDay, true);
+    }
+
+    @Override
+    public double getELOfSun(double julianDay) {
+      return LunisolarDateTimeUtils.getELOfSun(julianDay, true);
+    }
+
+    @Override
+    public double getELRateOfMoon(double julianDay) {
+      return LunisolarDateTimeUtils.getELRateOfMoon(julianDay, true);
+    }
+
+    @Override
+    public double getELRateOfSun(double julianDay) {
+      return LunisolarDateTimeUtils.getELRateOfSun(julianDay, true);
+    }
+  },
+
+  /** the truncated VSOP87 and ELP-2000/82 in Universal Time by &Delta;T, for the precision far from J2000 (about twice as fast as {@link #SERIES} , far slower than {@link #CHEBYSHEV} ) . */
+  PRECISE {
+    @Override
+    public double getELOfMoon(double julianDay) {
+      return PreciseEphemeris.getELOfMoon(julianDay);
+    }
+
+    @Override
+    public double getELOfSun(double julianDay) {
+      return PreciseEphemeris.getELOfSun(julianDay);
+    }
+
+    @Override
+    public double getELRateOfMoon(double julianDay) {
+      return PreciseEphemeris.getELRateOfMoon(julianDay);
+    }
+
+    @Override
+    public double getELRateOfSun(double julianDay) {
+      return PreciseEphemeris.getELRateOfSun(julianDay);
+    }
+  };
+}
@@ -0,0 +1,58 @@
+/**
+ * Copyright (C) 2015+ furplag (https://github.com/furplag/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.util.time.lunisolar;
+
+/**
+ * provider of the ecliptic longitudes of Sun and Moon.
+ *
+ * @author furplag
+ * @see Ephemerides
+ */
+public interface Ephemeris {
+
+  /**
+   * calculate ecliptic longitude of Moon.
+   *
+   * @param julianDay julian day.
+   * @return ecliptic longitude represented by angle ( 0&deg;-360&deg; ) .
+   */
+  double getELOfMoon(double julianDay);
+
+  /**
+   * calculate ecliptic longitude of Sun.
+   *
+   * @param julianDay julian day.
+   * @return ecliptic longitude represented by angle ( 0&deg;-360&deg; ) .
+   */
+  double getELOfSun(double julianDay);
+
+  /**
+   * calculate the rate of change of ecliptic longitude of Moon, the first step of the searches of new moon.
+   *
+   * @param julianDay julian day.
+   * @return the rate of change represented by angle per day.
+   */
+  double getELRateOfMoon(double julianDay);
+
+  /**
+   * calculate the rate of change of ecliptic longitude of Sun, the first step of the searches of new moon and solar term.
+   *
+   * @param julianDay julian day.
+   * @return the rate of change represented by angle per day.
+   */
+  double getELRateOfSun(double julianDay);
+}
@@ -0,0 +1,293 @@
+/**
+ * Copyright (C) 2015+ furplag (https://github.com/furplag/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.util.time.lunisolar;
+
+import static jp.furplag.util.commons.NumberUtils.circulate;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * the precomputed moments of new moon and solar term, memory-mapped read-only.
+ * <p>
+ * the table is written by {@link #write(File, Ephemerides, double, double)} , or {@link #main(String[])} at build time (profile "lunisolar-table") .
+ * the lookups are the binary searches without allocation, and return NaN out of the range of the table,
+ * then {@link AbstractLunisolar} searches by the ephemeris of the table instead.
+ * the mapped pages are shared through the page cache of OS, between the instances and the JVMs.
+ * </p>
+ * <p>
+ * format (big endian) : "LSET", version, ordinal of {@link Ephemerides} , from, to (julian days) , the number of new moons,
+ * the number of solar terms, the index of the first solar term ( angle / 15&deg; ) , then the moments of new moons and solar terms in ascending order.
+ * </p>
+ *
+ * @author furplag
+ */
+public final class EphemerisTable implements Ephemeris {
+
+  /** "LSET" . */
+  private static final int MAGIC = 0x4C534554;
+
+  private static final int VERSION = 1;
+
+  /** the bytes of the header. */
+  private static final int HEADER_LENGTH = 40;
+
+  /** the bytes of a moment. */
+  private static final int MOMENT_LENGTH = 8;
+
+  private EphemerisTable(final ByteBuffer buffer, final Ephemerides ephemeris) {
+    this.buffer = buffer;
+    this.ephemeris = ephemeris;
+    from = buffer.getDouble(12);
+    to = buffer.getDouble(20);
+    newMoons = buffer.getInt(28);
+    solarTerms = buffer.getInt(32);
+    firstTerm = buffer.getInt(36);
+    solarTermOffset = HEADER_LENGTH + (newMoons * MOMENT_LENGTH);
+  }
+
+  /** the mapped table, read by absolute index only. */
+  private final ByteBuffer buffer;
+
+  /** the ephemeris which the table generated by. */
+  private final Ephemerides ephemeris;
+
+  /** the first julian day of the table. */
+  private final double from;
+
+  /** the julian day of the end of the table (exclusive) . */
+  private final double to;
+
+  private final int newMoons;
+
+  private final int solarTerms;
+
+  /** the index of the first solar term ( angle / 15&deg; ) . */
+  private final int firstTerm;
+
+  /** the position of the first solar term. */
+  private final int solarTermOffset;
+
+  /**
+   * map the table read-only.
+   *
+   * @param file the table.
+   * @return the table.
+   * @throws IOException if the file is not readable, or not a table.
+   */
+  public static EphemerisTable open(final File file) throws IOException {
+    if (file == null) throw new IllegalArgumentException("file must NOT be empty.");
+    final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+    try {
+      if (randomAccessFile.length() < HEADER_LENGTH) throw new IOException(file + " is not a table of ephemeris.");
+      final ByteBuffer buffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, randomAccessFile.length());
+      if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) throw new IOException(file + " is not a table of ephemeris.");
+      if (buffer.getInt(8) < 0 || buffer.getInt(8) >= Ephemerides.values().length) throw new IOException(file + " is not a table of ephemeris.");
+      if (buffer.capacity() != HEADER_LENGTH + (((long) buffer.getInt(28) + buffer.getInt(32)) * MOMENT_LENGTH)) throw new IOException(file + " is broken.");
+
+      return new EphemerisTable(buffer, Ephemerides.values()[buffer.getInt(8)]);
+    } finally {
+      randomAccessFile.close();
+    }
+  }
+
+  /**
+   * generate the table of the moments of new moon and solar term in the range.
+   *
+   * @param file the destination.
+   * @param ephemeris the ephemeris.
+   * @param fromJD the first julian day of the table.
+   * @param toJD the julian day of the end of the table (exclusive) .
+   * @throws IOException if the file is not writable.
+   */
+  public static void write(final File file, final Ephemerides ephemeris, final double fromJD, final double toJD) throws IOException {
+    if (file == null) throw new IllegalArgumentException("file must NOT be empty.");
+    if (ephemeris == null) throw new IllegalArgumentException("ephemeris must NOT be empty.");
+    if (!(fromJD < toJD)) throw new IllegalArgumentException("toJD must be greater than fromJD.");
+    final EventSolver solver = new EventSolver(ephemeris);
+    double[] newMoons = new double[(int) ((toJD - fromJD) / 29d) + 2];
+    int newMoonCount = 0;
+    double moment = solver.getFirstDayOfMonth(fromJD);
+    if (moment < fromJD) moment = solver.getFirstDayOfMonth(moment + 30d);
+    while (moment < toJD) {
+      newMoons[newMoonCount++] = moment;
+      // a synodic month is 29.3 to 29.9 days.
+      moment = solver.getFirstDayOfMonth(moment + 30d);
+    }
+    double[] solarTerms = new double[(int) ((toJD - fromJD) / 14.5d) + 2];
+    int solarTermCount = 0;
+    int term = ((int) (ephemeris.getELOfSun(fromJD) / 15d)) % 24;
+    moment = solver.getLatestTerm(fromJD, term * 15);
+    if (moment < fromJD) {
+      term = (term + 1) % 24;
+      moment = solver.getLatestTerm(moment + 16d, term * 15);
+    }
+    final int firstTerm = term;
+    while (moment < toJD) {
+      solarTerms[solarTermCount++] = moment;
+      // the interval of solar terms is 14.7 to 15.8 days.
+      term = (term + 1) % 24;
+      moment = solver.getLatestTerm(moment + 16d, term * 15);
+    }
+    newMoons = Arrays.copyOf(newMoons, newMoonCount);
+    solarTerms = Arrays.copyOf(solarTerms, solarTermCount);
+
+    final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+    try {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(ephemeris.ordinal());
+      out.writeDouble(fromJD);
+      out.writeDouble(toJD);
+      out.writeInt(newMoons.length);
+      out.writeInt(solarTerms.length);
+      out.writeInt(firstTerm);
+      for (double newMoon : newMoons) {
+        out.writeDouble(newMoon);
+      }
+      for (double solarTerm : solarTerms) {
+        out.writeDouble(solarTerm);
+      }
+    } finally {
+      out.close();
+    }
+  }
+
+  /**
+   * generate the table, {@code EphemerisTable file [fromJD toJD [ephemeris]]} .
+   * <p>
+   * the range defaults 400-01-01 until 2201-01-01, and the ephemeris defaults {@link Ephemerides#CHEBYSHEV} .
+   * </p>
+   *
+   * @param args the destination, the range and the name of {@link Ephemerides} , the range needs both of fromJD and toJD.
+   * @throws IOException if the file is not writable.
+   */
+  public static void main(String[] args) throws IOException {
+    if (args == null || args.length < 1 || args.length == 2 || args.length > 4) throw new IllegalArgumentException("usage: EphemerisTable file [fromJD toJD [ephemeris]]");
+    final File file = new File(args[0]);
+    if (file.getParentFile() != null) file.getParentFile().mkdirs();
+    write(file, args.length > 3 ? Ephemerides.valueOf(args[3]) : Ephemerides.CHEBYSHEV, args.length > 2 ? Double.parseDouble(args[1]) : ChebyshevEphemeris.FROM, args.length > 2 ? Double.parseDouble(args[2]) : ChebyshevEphemeris.TO);
+  }
+
+  /**
+   * returns the latest moment of new moon until the julian day.
+   *
+   * @param julianDay julian day.
+   * @return the moment of new moon, or NaN if out of the range of the table.
+   */
+  public double getFirstDayOfMonth(final double julianDay) {
+    if (!(julianDay >= from && julianDay < to)) return Double.NaN;
+    final int index = floor(HEADER_LENGTH, newMoons, julianDay);
+
+    return index < 0 ? Double.NaN : buffer.getDouble(HEADER_LENGTH + (index * MOMENT_LENGTH));
+  }
+
+  /**
+   * returns the latest moment of the solar term until the julian day.
+   *
+   * @param julianDay julian day.
+   * @param angle ecliptic longitude of Sun, multiple of 15&deg; .
+   * @return the moment of the solar term, or NaN if out of the range of the table.
+   */
+  public double getLatestTerm(final double julianDay, final double angle) {
+    if (!(julianDay >= from && julianDay < to)) return Double.NaN;
+    final double expected = circulate(angle);
+    if (expected % 15d != 0d) return Double.NaN;
+    int index = floor(solarTermOffset, solarTerms, julianDay);
+    if (index < 0) return Double.NaN;
+    index -= (firstTerm + index - (int) (expected / 15d) + 24) % 24;
+
+    return index < 0 ? Double.NaN : buffer.getDouble(solarTermOffset + (index * MOMENT_LENGTH));
+  }
+
+  /**
+   * the ephemeris which the table generated by.
+   *
+   * @return the ephemeris.
+   */
+  public Ephemerides getEphemeris() {
+    return ephemeris;
+  }
+
+  /**
+   * the first julian day of the table.
+   *
+   * @return julian day.
+   */
+  public double getFrom() {
+    return from;
+  }
+
+  /**
+   * the julian day of the end of the table (exclusive) .
+   *
+   * @return julian day.
+   */
+  public double getTo() {
+    return to;
+  }
+
+  @Override
+  public double getELOfMoon(double julianDay) {
+    return ephemeris.getELOfMoon(julianDay);
+  }
+
+  @Override
+  public double getELOfSun(double julianDay) {
+    return ephemeris.getELOfSun(julianDay);
+  }
+
+  @Override
+  public double getELRateOfMoon(double julianDay) {
+    return ephemeris.getELRateOfMoon(julianDay);
+  }
+
+  @Override
+  public double getELRateOfSun(double julianDay) {
+    return ephemeris.getELRateOfSun(julianDay);
+  }
+
+  /**
+   * the binary search of the latest moment until the julian day.
+   *
+   * @param offset the position of the first moment.
+   * @param length the number of moments.
+   * @param julianDay julian day.
+   * @return the index of the moment, or -1 if all moments are after the julian day.
+   */
+  private int floor(final int offset, final int length, final double julianDay) {
+    int low = 0;
+    int high = length - 1;
+    while (low <= high) {
+      final int middle = (low + high) >>> 1;
+      if (buffer.getDouble(offset + (middle * MOMENT_LENGTH)) <= julianDay) {
+        low = middle + 1;
+      } else {
+        high = middle - 1;
+      }
+    }
+
+    return high;
+  }
+}
@@ -0,0 +1,227 @@
+/**
+ * Copyright (C) 2015+ furplag (https://github.com/furplag/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.util.time.lunisolar;
+
+import static jp.furplag.util.commons.NumberUtils.circulate;
+
+import java.util.ListIterator;
+
+/**
+ * the successive moments of new moon (or solar term) , calculated lazily in both directions.
+ * <p>
+ * the cursor lies between the events, like {@link ListIterator} :
+ * {@link #next()} returns the first event after the julian day, and {@link #previous()} returns the latest event until the julian day.
+ * each event is searched near the previous one added the mean interval, so that the iterator holds only one moment.
+ * not thread-safe, and never ends.
+ * </p>
+ *
+ * @author furplag
+ */
+public final class EventIterator implements ListIterator<Double> {
+
+  /** the mean interval of new moons, in days. */
+  private static final double SYNODIC_MONTH = 29.530588853;
+
+  /** the mean interval of solar terms, in days. */
+  private static final double INTERVAL_OF_TERMS = 365.242189 / 24d;
+
+  EventIterator(final EventSolver solver, final EphemerisTable table, final double julianDay, final boolean lunation) {
+    this.solver = solver;
+    this.table = table;
+    this.lunation = lunation;
+    interval = lunation ? SYNODIC_MONTH : INTERVAL_OF_TERMS;
+    angle = lunation ? 0d : Math.floor(circulate(solver.getLongitude(julianDay, false)) / 15d) * 15d;
+    moment = lunation ? getFirstDayOfMonth(julianDay) : getLatestTerm(julianDay, angle);
+  }
+
+  private final EventSolver solver;
+
+  /** the precomputed moments, or null. */
+  private final EphemerisTable table;
+
+  /** if true, iterates new moons, or solar terms. */
+  private final boolean lunation;
+
+  /** the mean interval of the events, in days. */
+  private final double interval;
+
+  /** the ecliptic longitude of Sun at {@link #moment} , or zero if iterates new moons. */
+  private double angle;
+
+  /** the moment of the event next to the cursor. */
+  private double moment;
+
+  /** if true, {@link #moment} lies after the cursor. */
+  private boolean ahead;
+
+  /** the index of the event after the cursor, from the julian day. */
+  private int index;
+
+  /**
+   * returns the successive moments of new moon.
+   *
+   * @param ephemeris the ephemeris, null means {@link Ephemerides#DEFAULT} .
+   * @param julianDay julian day.
+   * @return the iterator, {@link #next()} returns the first new moon after the julian day.
+   */
+  public static EventIterator newMoons(final Ephemeris ephemeris, final double julianDay) {
+    return newInstance(ephemeris, julianDay, true);
+  }
+
+  /**
+   * returns the successive moments of solar term.
+   *
+   * @param ephemeris the ephemeris, null means {@link Ephemerides#DEFAULT} .
+   * @param julianDay julian day.
+   * @return the iterator, {@link #next()} returns the first solar term after the julian day.
+   */
+  public static EventIterator solarTerms(final Ephemeris ephemeris, final double julianDay) {
+    return newInstance(ephemeris, julianDay, false);
+  }
+
+  private static EventIterator newInstance(final Ephemeris ephemeris, final double julianDay, final boolean lunation) {
+    if (Double.isNaN(julianDay) || Double.isInfinite(julianDay)) throw new IllegalArgumentException("julianDay must be finite.");
+
+    return new EventIterator(new EventSolver(ephemeris == null ? Ephemerides.DEFAULT : ephemeris), ephemeris instanceof EphemerisTable ? (EphemerisTable) ephemeris : null, julianDay, lunation);
+  }
+
+  /**
+   * the ecliptic longitude of Sun at the event last returned, always zero if iterates new moons.
+   *
+   * @return the angle ( 0&deg;-345&deg; ) .
+   */
+  public double getAngle() {
+    return angle;
+  }
+
+  /**
+   * the number of the evaluations of the ephemeris in the searches, since constructed.
+   *
+   * @return the number of iterations.
+   */
+  public long getIterationCount() {
+    return solver.getIterationCount();
+  }
+
+  /**
+   * substitute for {@link #next()} , without boxing.
+   *
+   * @return the moment of the event, by julian day.
+   */
+  public double nextMoment() {
+    if (!ahead) advance(1);
+    ahead = false;
+    index++;
+
+    return moment;
+  }
+
+  /**
+   * substitute for {@link #previous()} , without boxing.
+   *
+   * @return the moment of the event, by julian day.
+   */
+  public double previousMoment() {
+    if (ahead) advance(-1);
+    ahead = true;
+    index--;
+
+    return moment;
+  }
+
+  @Override
+  public boolean hasNext() {
+    return true;
+  }
+
+  @Override
+  public Double next() {
+    return nextMoment();
+  }
+
+  @Override
+  public boolean hasPrevious() {
+    return true;
+  }
+
+  @Override
+  public Double previous() {
+    return previousMoment();
+  }
+
+  @Override
+  public int nextIndex() {
+    return index;
+  }
+
+  @Override
+  public int previousIndex() {
+    return index - 1;
+  }
+
+  @Override
+  public void remove() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void set(Double e) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void add(Double e) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * move {@link #moment} to the neighboring event.
+   *
+   * @param direction 1 means the next event, -1 means the previous one.
+   */
+  private void advance(final int direction) {
+    if (!lunation) angle = circulate(angle + (15d * direction));
+    if (table != null) {
+      final double julianDay = direction > 0 ? moment + interval + 1d : moment - 1d;
+      final double event = lunation ? table.getFirstDayOfMonth(julianDay) : table.getLatestTerm(julianDay, angle);
+      if (!Double.isNaN(event)) {
+        moment = event;
+
+        return;
+      }
+    }
+    moment = solver.getNearestEvent(moment + (interval * direction), angle, lunation);
+  }
+
+  private double getFirstDayOfMonth(final double julianDay) {
+    if (table != null) {
+      final double firstDay = table.getFirstDayOfMonth(julianDay);
+      if (!Double.isNaN(firstDay)) return firstDay;
+    }
+
+    return solver.getFirstDayOfMonth(julianDay);
+  }
+
+  private double getLatestTerm(final double julianDay, final double angle) {
+    if (table != null) {
+      final double solarTerm = table.getLatestTerm(julianDay, angle);
+      if (!Double.isNaN(solarTerm)) return solarTerm;
+    }
+
+    return solver.getLatestTerm(julianDay, angle);
+  }
+}
@@ -0,0 +1,153 @@
+/**
+ * Copyright (C) 2015+ furplag (https://github.com/furplag/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.util.time.lunisolar;
+
+import static jp.furplag.util.commons.NumberUtils.circulate;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * the searches of new moon and solar term by an ephemeris.
+ * <p>
+ * the first step is Newton's method by the rate of the ephemeris, the following steps are the secant method, bracketed by bisection.
+ * thread-safe if the ephemeris is, the counters are shared by the threads.
+ * </p>
+ *
+ * @author furplag
+ */
+final class EventSolver {
+
+  /** the tolerance of the searches, in days. */
+  private static final double TOLERANCE = 1E-8;
+
+  /** the limit of the iterations of a search. */
+  private static final int MAX_ITERATIONS = 100;
+
+  EventSolver(final Ephemeris ephemeris) {
+    this.ephemeris = ephemeris;
+  }
+
+  private final Ephemeris ephemeris;
+
+  /** the number of the searches. */
+  private final AtomicLong solves = new AtomicLong();
+
+  /** the number of the evaluations of the ephemeris in the searches. */
+  private final AtomicLong iterations = new AtomicLong();
+
+  /**
+   * returns the latest moment of new moon until the julian day.
+   *
+   * @param julianDay julian day.
+   * @return the moment of new moon, by julian day.
+   */
+  double getFirstDayOfMonth(final double julianDay) {
+    return solve(julianDay, 0d, true, true);
+  }
+
+  /**
+   * returns the latest moment of the solar term until the julian day.
+   *
+   * @param julianDay julian day.
+   * @param angle ecliptic longitude of Sun.
+   * @return the moment of the solar term, by julian day.
+   */
+  double getLatestTerm(final double julianDay, final double angle) {
+    return solve(julianDay, circulate(angle), false, true);
+  }
+
+  /**
+   * returns the moment of the event nearest to the julian day.
+   * <p>
+   * the julian day should be within a half of the interval of the events, e.g. the previous moment added the mean interval.
+   * </p>
+   *
+   * @param julianDay julian day.
+   * @param angle the elongation of Moon (or the ecliptic longitude of Sun) .
+   * @param lunation if true, searches the elongation of Moon, or the ecliptic longitude of Sun.
+   * @return the moment, by julian day.
+   */
+  double getNearestEvent(final double julianDay, final double angle, final boolean lunation) {
+    return solve(julianDay, circulate(angle), lunation, false);
+  }
+
+  long getIterationCount() {
+    return iterations.get();
+  }
+
+  long getSolveCount() {
+    return solves.get();
+  }
+
+  /**
+   * find the moment when the elongation of Moon (or the ecliptic longitude of Sun) reaches the angle.
+   * <p>
+   * the longitude always increases, so the latest moment is bounded above by {@code julianDay} .
+   * </p>
+   *
+   * @param julianDay julian day.
+   * @param angle the angle ( 0&deg;-360&deg; ) .
+   * @param lunation if true, searches the elongation of Moon, or the ecliptic longitude of Sun.
+   * @param latest if true, searches the latest moment until the julian day, or the moment nearest to the julian day.
+   * @return the moment, by julian day.
+   */
+  private double solve(final double julianDay, final double angle, final boolean lunation, final boolean latest) {
+    solves.incrementAndGet();
+    double lower = Double.NEGATIVE_INFINITY;
+    double upper = latest ? julianDay : Double.POSITIVE_INFINITY;
+    double moment = julianDay;
+    double delta = latest ? circulate(getLongitude(moment, lunation) - angle) : normalize(getLongitude(moment, lunation) - angle);
+    double step = delta / getRate(moment, lunation);
+    int counter = 1;
+    do {
+      final double previous = moment;
+      final double previousDelta = delta;
+      moment -= step;
+      if (!(lower < moment && moment <= upper)) moment = Double.isInfinite(lower) ? upper : Double.isInfinite(upper) ? lower : (lower + upper) / 2d;
+      delta = normalize(getLongitude(moment, lunation) - angle);
+      if (delta > 0d) {
+        upper = moment;
+      } else {
+        lower = moment;
+      }
+      step = moment == previous ? 0d : delta * (moment - previous) / (delta - previousDelta);
+      counter++;
+    } while (Math.abs(step) > TOLERANCE && counter < MAX_ITERATIONS);
+    iterations.addAndGet(counter);
+
+    return Math.min(moment - step, upper);
+  }
+
+  double getLongitude(final double julianDay, final boolean lunation) {
+    return lunation ? ephemeris.getELOfMoon(julianDay) - ephemeris.getELOfSun(julianDay) : ephemeris.getELOfSun(julianDay);
+  }
+
+  /**
+   * @param delta the difference of angles.
+   * @return the difference in ( -180&deg;, 180&deg; ] .
+   */
+  private static double normalize(final double delta) {
+    if (delta > 180d) return delta - 360d;
+    if (delta <= -180d) return delta + 360d;
+
+    return delta;
+  }
+
+  private double getRate(final double julianDay, final boolean lunation) {
+    return lunation ? ephemeris.getELRateOfMoon(julianDay) - ephemeris.getELRateOfSun(julianDay) : ephemeris.getELRateOfSun(julianDay);
+  }
+}
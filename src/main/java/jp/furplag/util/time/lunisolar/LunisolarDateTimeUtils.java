@@ -51,15 +51,56 @@ public final class LunisolarDateTimeUtils extends jp.furplag.util.time.DateTimeU
     new double[] { 36000.7695, 280.4659 });
 
     private Perturbation(Double[][] values, double[] proportionalValues) {
-      this.values = values;
+      terms = new double[values.length * TERM_LENGTH];
+      for (int i = 0; i < values.length; i++) {
+        terms[(i * TERM_LENGTH)] = values[i][0];
+        terms[(i * TERM_LENGTH) + 1] = values[i][1] == null ? 1d : 0d;
+        terms[(i * TERM_LENGTH) + 2] = values[i][2];
+        terms[(i * TERM_LENGTH) + 3] = values[i][3];
+      }
       this.proportionalValues = proportionalValues;
     }
 
+    /** the length of a term in {@link #terms} . */
+    private static final int TERM_LENGTH = 4;
+
     private final double[] proportionalValues;
 
-    private final Double[][] values;
+    /** the terms flattened, [amplitude, 1 if the amplitude is proportional to TDT (or 0), angular velocity, phase] . */
+    private final double[] terms;
   }
 
+  /** the chebyshev approximations of ecliptic longitude, initialized on first use. */
+  private static final class Approximations {
+
+    private static final ChebyshevEphemeris MOON = new ChebyshevEphemeris(MOON_SEGMENT, MOON_DEGREE) {
+      @Override
+      double exactly(double julianDay) {
+        return getEclipticLongitude(julianDay, Perturbation.Moon);
+      }
+    };
+
+    private static final ChebyshevEphemeris SUN = new ChebyshevEphemeris(SUN_SEGMENT, SUN_DEGREE) {
+      @Override
+      double exactly(double julianDay) {
+        return getEclipticLongitude(julianDay, Perturbation.Sun);
+      }
+    };
+  }
+
+  /** the days of a segment of the approximation of Moon. */
+  private static final double MOON_SEGMENT = 4d;
+
+  private static final int MOON_DEGREE = 16;
+
+  /** the days of a segment of the approximation of Sun. */
+  private static final double SUN_SEGMENT = 16d;
+
+  private static final int SUN_DEGREE = 12;
+
+  /** if false, the ecliptic longitudes are always evaluated by the series. */
+  private static volatile boolean approximation = true;
+
   /**
    * {@code LunisolarDateTimeUtils} instances should NOT be constructed in standard programming.
    */
@@ -77,6 +118,49 @@ public final class LunisolarDateTimeUtils extends jp.furplag.util.time.DateTimeU
     return (julianDay - J2000) / JULIAN_CENTURY;
   }
 
+  /**
+   * estimate the difference between Terrestrial Time and Universal Time ( &Delta;T = TT - UT ) ,
+   * by the polynomials of F. Espenak and J. Meeus (NASA, "Five Millennium Canon of Solar Eclipses") .
+   *
+   * @param julianDay julian day (UT) .
+   * @return &Delta;T in seconds.
+   */
+  public static double getDeltaT(final double julianDay) {
+    final double y = 2000d + ((julianDay - J2000) / JULIAN_YEAR);
+    if (y < -500d) return -20d + (32d * ((y - 1820d) / 100d) * ((y - 1820d) / 100d));
+    if (y < 500d) return polynomial(y / 100d, 10583.6, -1014.41, 33.78311, -5.952053, -.1798452, .022174192, .0090316521);
+    if (y < 1600d) return polynomial((y - 1000d) / 100d, 1574.2, -556.01, 71.23472, .319781, -.8503463, -.005050998, .0083572073);
+    if (y < 1700d) return polynomial(y - 1600d, 120d, -.9808, -.01532, 1d / 7129d);
+    if (y < 1800d) return polynomial(y - 1700d, 8.83, .1603, -.0059285, .00013336, -1d / 1174000d);
+    if (y < 1860d) return polynomial(y - 1800d, 13.72, -.332447, .0068612, .0041116, -.00037436, .0000121272, -.0000001699, .000000000875);
+    if (y < 1900d) return polynomial(y - 1860d, 7.62, .5737, -.251754, .01680668, -.0004473624, 1d / 233174d);
+    if (y < 1920d) return polynomial(y - 1900d, -2.79, 1.494119, -.0598939, .0061966, -.000197);
+    if (y < 1941d) return polynomial(y - 1920d, 21.2, .84493, -.0761, .0020936);
+    if (y < 1961d) return polynomial(y - 1950d, 29.07, .407, -1d / 233d, 1d / 2547d);
+    if (y < 1986d) return polynomial(y - 1975d, 45.45, 1.067, -1d / 260d, -1d / 718d);
+    if (y < 2005d) return polynomial(y - 2000d, 63.86, .3345, -.060374, .0017275, .000651814, .00002373599);
+    if (y < 2050d) return polynomial(y - 2000d, 62.92, .32217, .005589);
+    if (y < 2150d) return -20d + (32d * ((y - 1820d) / 100d) * ((y - 1820d) / 100d)) - (.5628 * (2150d - y));
+
+    return -20d + (32d * ((y - 1820d) / 100d) * ((y - 1820d) / 100d));
+  }
+
+  /**
+   * evaluate the polynomial by Horner's method.
+   *
+   * @param x the variable.
+   * @param coefficients the coefficients, in ascending order of the power.
+   * @return the value of the polynomial.
+   */
+  private static double polynomial(final double x, final double... coefficients) {
+    double value = 0d;
+    for (int i = coefficients.length - 1; i > -1; i--) {
+      value = (value * x) + coefficients[i];
+    }
+
+    return value;
+  }
+
   /**
    * calculate ecliptic longitude of specified julian day.
    * @param julianDay julian day.
@@ -85,35 +169,214 @@ public final class LunisolarDateTimeUtils extends jp.furplag.util.time.DateTimeU
    */
   private static double getEclipticLongitude(final double julianDay, final Perturbation perturbation) {
     final double tt = toTDT(julianDay);
+    final double[] terms = perturbation.terms;
     double longitude = 0d;
-    for (Double[] value : perturbation.values) {
-      longitude += value[0] * (value[1] == null ? tt : value[1]) * Math.cos((circulate((tt * value[2]) + value[3])) * Math.PI / 180d);
+    for (int i = 0; i < terms.length; i += Perturbation.TERM_LENGTH) {
+      longitude += (terms[i + 1] == 0d ? terms[i] : terms[i] * tt) * Math.cos(circulate((tt * terms[i + 2]) + terms[i + 3]) * Math.PI / 180d);
     }
     longitude += circulate(circulate(perturbation.proportionalValues[0] * tt) + perturbation.proportionalValues[1]);
 
     return circulate(longitude);
   }
 
+  /**
+   * calculate the rate of change of ecliptic longitude, the derivative of {@link #getEclipticLongitude(double, Perturbation)} .
+   *
+   * @param julianDay julian day.
+   * @param perturbation perturbation values for ecliptic longitude.
+   * @return the rate of change represented by angle per day.
+   */
+  private static double getEclipticRate(final double julianDay, final Perturbation perturbation) {
+    final double tt = toTDT(julianDay);
+    final double[] terms = perturbation.terms;
+    double rate = 0d;
+    for (int i = 0; i < terms.length; i += Perturbation.TERM_LENGTH) {
+      final double angle = circulate((tt * terms[i + 2]) + terms[i + 3]) * Math.PI / 180d;
+      rate -= (terms[i + 1] == 0d ? terms[i] : terms[i] * tt) * Math.sin(angle) * terms[i + 2] * Math.PI / 180d;
+      if (terms[i + 1] != 0d) rate += terms[i] * Math.cos(angle);
+    }
+    rate += perturbation.proportionalValues[0];
+
+    return rate / JULIAN_CENTURY;
+  }
+
+  /**
+   * calculate ecliptic longitudes of specified julian days.
+   *
+   * @param julianDays julian days.
+   * @param out the destination, null means to create new.
+   * @param perturbation perturbation values for ecliptic longitude.
+   * @param ephemeris the approximation, null means to evaluate the series.
+   * @return the destination.
+   */
+  private static double[] getEclipticLongitudes(final double[] julianDays, final double[] out, final Perturbation perturbation, final ChebyshevEphemeris ephemeris) {
+    if (julianDays == null) throw new IllegalArgumentException("julianDays must NOT be empty.");
+    if (out != null && out.length < julianDays.length) throw new IllegalArgumentException("out must have the length of julianDays.");
+    final double[] longitudes = out == null ? new double[julianDays.length] : out;
+    if (ephemeris != null) ephemeris.get(julianDays, longitudes);
+    for (int i = 0; i < julianDays.length; i++) {
+      if (ephemeris == null || Double.isNaN(longitudes[i])) longitudes[i] = getEclipticLongitude(julianDays[i], perturbation);
+    }
+
+    return longitudes;
+  }
+
   /**
    * calculate ecliptic longitude of Moon.
+   * <p>
+   * approximated by chebyshev polynomials within 1E-8 degree from 400 to 2200, unless {@link #setApproximation(boolean)} switched off.
+   * </p>
    *
    * @param julianDay julian day.
    * @return ecliptic longitude represented by angle ( 0&deg;-360&deg; ) .
    */
   public static double getELOfMoon(final double julianDay) {
+    return getELOfMoon(julianDay, approximation);
+  }
+
+  /**
+   * calculate ecliptic longitude of Moon.
+   *
+   * @param julianDay julian day.
+   * @param approximated if false, evaluates the series exactly.
+   * @return ecliptic longitude represented by angle ( 0&deg;-360&deg; ) .
+   */
+  static double getELOfMoon(final double julianDay, final boolean approximated) {
+    if (approximated) {
+      final double longitude = Approximations.MOON.get(julianDay);
+      if (!Double.isNaN(longitude)) return longitude;
+    }
+
     return getEclipticLongitude(julianDay, Perturbation.Moon);
   }
 
   /**
    * calculate ecliptic longitude of Sun.
+   * <p>
+   * approximated by chebyshev polynomials within 1E-8 degree from 400 to 2200, unless {@link #setApproximation(boolean)} switched off.
+   * </p>
    *
    * @param julianDay julian day.
    * @return ecliptic longitude represented by angle ( 0&deg;-360&deg; ) .
    */
   public static double getELOfSun(final double julianDay) {
+    return getELOfSun(julianDay, approximation);
+  }
+
+  /**
+   * calculate ecliptic longitude of Sun.
+   *
+   * @param julianDay julian day.
+   * @param approximated if false, evaluates the series exactly.
+   * @return ecliptic longitude represented by angle ( 0&deg;-360&deg; ) .
+   */
+  static double getELOfSun(final double julianDay, final boolean approximated) {
+    if (approximated) {
+      final double longitude = Approximations.SUN.get(julianDay);
+      if (!Double.isNaN(longitude)) return longitude;
+    }
+
     return getEclipticLongitude(julianDay, Perturbation.Sun);
   }
 
+  /**
+   * calculate the rate of change of ecliptic longitude of Moon.
+   *
+   * @param julianDay julian day.
+   * @return the rate of change represented by angle per day.
+   */
+  public static double getELRateOfMoon(final double julianDay) {
+    return getELRateOfMoon(julianDay, approximation);
+  }
+
+  /**
+   * calculate the rate of change of ecliptic longitude of Moon.
+   *
+   * @param julianDay julian day.
+   * @param approximated if false, evaluates the derivative of the series exactly.
+   * @return the rate of change represented by angle per day.
+   */
+  static double getELRateOfMoon(final double julianDay, final boolean approximated) {
+    if (approximated) {
+      final double rate = Approximations.MOON.getRate(julianDay);
+      if (!Double.isNaN(rate)) return rate;
+    }
+
+    return getEclipticRate(julianDay, Perturbation.Moon);
+  }
+
+  /**
+   * calculate the rate of change of ecliptic longitude of Sun.
+   *
+   * @param julianDay julian day.
+   * @return the rate of change represented by angle per day.
+   */
+  public static double getELRateOfSun(final double julianDay) {
+    return getELRateOfSun(julianDay, approximation);
+  }
+
+  /**
+   * calculate the rate of change of ecliptic longitude of Sun.
+   *
+   * @param julianDay julian day.
+   * @param approximated if false, evaluates the derivative of the series exactly.
+   * @return the rate of change represented by angle per day.
+   */
+  static double getELRateOfSun(final double julianDay, final boolean approximated) {
+    if (approximated) {
+      final double rate = Approximations.SUN.getRate(julianDay);
+      if (!Double.isNaN(rate)) return rate;
+    }
+
+    return getEclipticRate(julianDay, Perturbation.Sun);
+  }
+
+  /**
+   * calculate ecliptic longitudes of Moon, substitute for {@link #getELOfMoon(double)} in a loop.
+   * <p>
+   * the results are identical to {@link #getELOfMoon(double)} .
+   * </p>
+   *
+   * @param julianDays julian days.
+   * @param out the destination, null means to create new.
+   * @return ecliptic longitudes represented by angle ( 0&deg;-360&deg; ) , in the order of {@code julianDays} .
+   */
+  public static double[] getELOfMoon(final double[] julianDays, final double[] out) {
+    return getEclipticLongitudes(julianDays, out, Perturbation.Moon, approximation ? Approximations.MOON : null);
+  }
+
+  /**
+   * calculate ecliptic longitudes of Sun, substitute for {@link #getELOfSun(double)} in a loop.
+   * <p>
+   * the results are identical to {@link #getELOfSun(double)} .
+   * </p>
+   *
+   * @param julianDays julian days.
+   * @param out the destination, null means to create new.
+   * @return ecliptic longitudes represented by angle ( 0&deg;-360&deg; ) , in the order of {@code julianDays} .
+   */
+  public static double[] getELOfSun(final double[] julianDays, final double[] out) {
+    return getEclipticLongitudes(julianDays, out, Perturbation.Sun, approximation ? Approximations.SUN : null);
+  }
+
+  /**
+   * if {@code true}, the ecliptic longitudes are approximated by chebyshev polynomials.
+   *
+   * @return {@code true} if approximated.
+   */
+  public static boolean isApproximation() {
+    return approximation;
+  }
+
+  /**
+   * switch the evaluation of the ecliptic longitudes between the chebyshev polynomials and the series.
+   *
+   * @param approximation if false, always evaluates the series exactly.
+   */
+  public static void setApproximation(final boolean approximation) {
+    LunisolarDateTimeUtils.approximation = approximation;
+  }
+
   public static int getDayOfMonth(final double firstDayOfMonth, final double julianDay, DateTimeZone zone) {
     DateTime firstDay = toDT(firstDayOfMonth, zone, true);
     if (firstDay == null) throw new IllegalArgumentException("\"firstDayOfMonth\" must NOT be empty.");
@@ -0,0 +1,227 @@
+/**
+ * Copyright (C) 2015+ furplag (https://github.com/furplag/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.util.time.lunisolar;
+
+import static jp.furplag.util.commons.NumberUtils.circulate;
+
+/**
+ * the ecliptic longitudes by the truncated VSOP87 (Earth) and ELP-2000/82 (Moon) , after J. Meeus "Astronomical Algorithms" .
+ * <p>
+ * the apparent longitudes, corrected by the nutation and the aberration.
+ * takes the julian day in Universal Time, and evaluates the series in Terrestrial Time by {@link LunisolarDateTimeUtils#getDeltaT(double)} ,
+ * so the moments of new moons and solar terms searched by this ephemeris are also in Universal Time.
+ * within about 1 second of arc for Sun and 10 seconds of arc for Moon, about twice as fast as the short series but far slower than {@link Ephemerides#CHEBYSHEV} .
+ * </p>
+ *
+ * @author furplag
+ */
+final class PreciseEphemeris {
+
+  /** the days of julian millennium. */
+  private static final double JULIAN_MILLENNIUM = LunisolarDateTimeUtils.JULIAN_CENTURY * 10d;
+
+  /** the series of heliocentric longitude of Earth, [amplitude (1E-8 radian) , phase, angular velocity (per julian millennium)] per term, L0 to L5. */
+  private static final double[][] EARTH_L = {
+    { 175347046, 0, 0, 3341656, 4.6692568, 6283.07585, 34894, 4.6261, 12566.1517, 3497, 2.7441, 5753.3849, 3418, 2.8289, 3.5231, 3136, 3.6277, 77713.7715, 2676, 4.4181, 7860.4194, 2343, 6.1352, 3930.2097, 1324, .7425, 11506.7698, 1273, 2.0371, 529.691, 1199, 1.1096, 1577.3435, 990, 5.233, 5884.927, 902, 2.045, 26.298, 857, 3.508, 398.149, 780, 1.179, 5223.694, 753, 2.533, 5507.553, 505, 4.583, 18849.228, 492, 4.205, 775.523, 357, 2.92, .067, 317, 5.849, 11790.629, 284, 1.899, 796.298, 271, .315, 10977.079, 243, .345, 5486.778, 206, 4.806, 2544.314, 205, 1.869, 5573.143, 202, 2.458, 6069.777, 156, .833, 213.299, 132, 3.411, 2942.463, 126, 1.083, 20.775, 115, .645, .98, 103, .636, 4694.003, 102, .976, 15720.839, 102, 4.267, 7.114, 99, 6.21, 2146.17, 98, .68, 155.42, 86, 5.98, 161000.69, 85, 1.3, 6275.96, 85, 3.67, 71430.7, 80, 1.81, 17260.15, 79, 3.04, 12036.46, 75, 1.76, 5088.63, 74, 3.5, 3154.69, 74, 4.68, 801.82, 70, .83, 9437.76, 62, 3.98, 8827.39, 61, 1.82, 7084.9, 57, 2.78, 6286.6, 56, 4.39, 14143.5, 56, 3.47, 6279.55, 52, .19, 12139.55, 52, 1.33, 1748.02, 51, .28, 5856.48, 49, .49, 1194.45, 41, 5.37, 8429.24, 41, 2.4, 19651.05, 39, 6.17, 10447.39, 37, 6.04, 10213.29, 37, 2.57, 1059.38, 36, 1.71, 2352.87, 36, 1.78, 6812.77, 33, .59, 17789.85, 30, .44, 83996.85, 30, 2.74, 1349.87, 25, 3.16, 4690.48 },
+    { 628331966747d, 0, 0, 206059, 2.678235, 6283.07585, 4303, 2.6351, 12566.1517, 425, 1.59, 3.523, 119, 5.796, 26.298, 109, 2.966, 1577.344, 93, 2.59, 18849.23, 72, 1.14, 529.69, 68, 1.87, 398.15, 67, 4.41, 5507.55, 59, 2.89, 5223.69, 56, 2.17, 155.42, 45, .4, 796.3, 36, .47, 775.52, 29, 2.65, 7.11, 21, 5.34, .98, 19, 1.85, 5486.78, 19, 4.97, 213.3, 17, 2.99, 6275.96, 16, .03, 2544.31, 16, 1.43, 2146.17, 15, 1.21, 10977.08, 12, 2.83, 1748.02, 12, 3.26, 5088.63, 12, 5.27, 1194.45, 12, 2.08, 4694, 11, .77, 553.57, 10, 1.3, 6286.6, 10, 4.24, 1349.87, 9, 2.7, 242.73, 9, 5.64, 951.72, 8, 5.3, 2352.87, 6, 2.65, 9437.76, 6, 4.67, 4690.48 },
+    { 52919, 0, 0, 8720, 1.0721, 6283.0758, 309, .867, 12566.152, 27, .05, 3.52, 16, 5.19, 26.3, 16, 3.68, 155.42, 10, .76, 18849.23, 9, 2.06, 77713.77, 7, .83, 775.52, 5, 4.66, 1577.34, 4, 1.03, 7.11, 4, 3.44, 5573.14, 3, 5.14, 796.3, 3, 6.05, 5507.55, 3, 1.19, 242.73, 3, 6.12, 529.69, 3, .31, 398.15, 3, 2.28, 553.57, 2, 4.38, 5223.69, 2, 3.75, .98 },
+    { 289, 5.844, 6283.076, 35, 0, 0, 17, 5.49, 12566.15, 3, 5.2, 155.42, 1, 4.72, 3.52, 1, 5.3, 18849.23, 1, 5.97, 242.73 },
+    { 114, 3.142, 0, 8, 4.13, 6283.08, 1, 3.84, 12566.15 },
+    { 1, 3.14, 0 }
+  };
+
+  /** the series of radius vector of Earth (truncated) , R0 and R1, used only for the aberration. */
+  private static final double[][] EARTH_R = {
+    { 100013989, 0, 0, 1670700, 3.0984635, 6283.07585, 13956, 3.05525, 12566.1517, 3084, 5.1985, 77713.7715, 1628, 1.1739, 5753.3849, 1576, 2.8469, 7860.4194 },
+    { 103019, 1.10749, 6283.07585, 1721, 1.0644, 12566.1517, 702, 3.142, 0 }
+  };
+
+  /** the periodic terms of longitude of Moon, [D, M, M', F, amplitude (1E-6 degree)] per term. */
+  private static final double[] MOON = {
+    0, 0, 1, 0, 6288774, 2, 0, -1, 0, 1274027, 2, 0, 0, 0, 658314, 0, 0, 2, 0, 213618, 0, 1, 0, 0, -185116, 0, 0, 0, 2, -114332, 2, 0, -2, 0, 58793, 2, -1, -1, 0, 57066, 2, 0, 1, 0, 53322, 2, -1, 0, 0, 45758,
+    0, 1, -1, 0, -40923, 1, 0, 0, 0, -34720, 0, 1, 1, 0, -30383, 2, 0, 0, -2, 15327, 0, 0, 1, 2, -12528, 0, 0, 1, -2, 10980, 4, 0, -1, 0, 10675, 0, 0, 3, 0, 10034, 4, 0, -2, 0, 8548, 2, 1, -1, 0, -7888,
+    2, 1, 0, 0, -6766, 1, 0, -1, 0, -5163, 1, 1, 0, 0, 4987, 2, -1, 1, 0, 4036, 2, 0, 2, 0, 3994, 4, 0, 0, 0, 3861, 2, 0, -3, 0, 3665, 0, 1, -2, 0, -2689, 2, 0, -1, 2, -2602, 2, -1, -2, 0, 2390,
+    1, 0, 1, 0, -2348, 2, -2, 0, 0, 2236, 0, 1, 2, 0, -2120, 0, 2, 0, 0, -2069, 2, -2, -1, 0, 2048, 2, 0, 1, -2, -1773, 2, 0, 0, 2, -1595, 4, -1, -1, 0, 1215, 0, 0, 2, 2, -1110, 3, 0, -1, 0, -892,
+    2, 1, 1, 0, -810, 4, -1, -2, 0, 759, 0, 2, -1, 0, -713, 2, 2, -1, 0, -700, 2, 1, -2, 0, 691, 2, -1, 0, -2, 596, 4, 0, 1, 0, 549, 0, 0, 4, 0, 537, 4, -1, 0, 0, 520, 1, 0, -2, 0, -487,
+    2, 1, 0, -2, -399, 0, 0, 2, -2, -381, 1, 1, 1, 0, 351, 3, 0, -2, 0, -340, 4, 0, -3, 0, 330, 2, -1, 2, 0, 327, 0, 2, 1, 0, -323, 1, 1, -1, 0, 299, 2, 0, 3, 0, 294
+  };
+
+  /** the length of a term in {@link #MOON} . */
+  private static final int MOON_TERM_LENGTH = 5;
+
+  /**
+   * {@code PreciseEphemeris} instances should NOT be constructed in standard programming.
+   */
+  private PreciseEphemeris() {}
+
+  /**
+   * calculate apparent ecliptic longitude of Moon.
+   *
+   * @param julianDay julian day (UT) .
+   * @return ecliptic longitude represented by angle ( 0&deg;-360&deg; ) .
+   */
+  static double getELOfMoon(final double julianDay) {
+    final double tt = LunisolarDateTimeUtils.toTDT(toTT(julianDay));
+    final double meanLongitude = 218.3164477 + (481267.88123421 * tt) - (.0015786 * tt * tt) + (tt * tt * tt / 538841d) - (tt * tt * tt * tt / 65194000d);
+    final double elongation = toRadians(297.8501921 + (445267.1114034 * tt) - (.0018819 * tt * tt) + (tt * tt * tt / 545868d) - (tt * tt * tt * tt / 113065000d));
+    final double anomalyOfSun = toRadians(357.5291092 + (35999.0502909 * tt) - (.0001536 * tt * tt) + (tt * tt * tt / 24490000d));
+    final double anomalyOfMoon = toRadians(134.9633964 + (477198.8675055 * tt) + (.0087414 * tt * tt) + (tt * tt * tt / 69699d) - (tt * tt * tt * tt / 14712000d));
+    final double argumentOfLatitude = toRadians(93.272095 + (483202.0175233 * tt) - (.0036539 * tt * tt) - (tt * tt * tt / 3526000d) + (tt * tt * tt * tt / 863310000d));
+    final double eccentricity = 1d - (.002516 * tt) - (.0000074 * tt * tt);
+    double longitude = 0d;
+    for (int i = 0; i < MOON.length; i += MOON_TERM_LENGTH) {
+      final double term = MOON[i + 4] * Math.sin((MOON[i] * elongation) + (MOON[i + 1] * anomalyOfSun) + (MOON[i + 2] * anomalyOfMoon) + (MOON[i + 3] * argumentOfLatitude));
+      longitude += MOON[i + 1] == 0d ? term : Math.abs(MOON[i + 1]) == 1d ? term * eccentricity : term * eccentricity * eccentricity;
+    }
+    longitude += 3958d * Math.sin(toRadians(119.75 + (131.849 * tt)));
+    longitude += 1962d * Math.sin(toRadians(meanLongitude) - argumentOfLatitude);
+    longitude += 318d * Math.sin(toRadians(53.09 + (479264.29 * tt)));
+
+    return circulate(circulate(meanLongitude) + (longitude / 1E6) + (getNutation(tt) / 3600d));
+  }
+
+  /**
+   * calculate the rate of change of ecliptic longitude of Moon, ignoring the nutation and the secular accelerations.
+   *
+   * @param julianDay julian day (UT) .
+   * @return the rate of change represented by angle per day.
+   */
+  static double getELRateOfMoon(final double julianDay) {
+    final double tt = LunisolarDateTimeUtils.toTDT(toTT(julianDay));
+    final double meanLongitude = toRadians(218.3164477 + (481267.88123421 * tt) - (.0015786 * tt * tt) + (tt * tt * tt / 538841d) - (tt * tt * tt * tt / 65194000d));
+    final double elongation = toRadians(297.8501921 + (445267.1114034 * tt) - (.0018819 * tt * tt) + (tt * tt * tt / 545868d) - (tt * tt * tt * tt / 113065000d));
+    final double anomalyOfSun = toRadians(357.5291092 + (35999.0502909 * tt) - (.0001536 * tt * tt) + (tt * tt * tt / 24490000d));
+    final double anomalyOfMoon = toRadians(134.9633964 + (477198.8675055 * tt) + (.0087414 * tt * tt) + (tt * tt * tt / 69699d) - (tt * tt * tt * tt / 14712000d));
+    final double argumentOfLatitude = toRadians(93.272095 + (483202.0175233 * tt) - (.0036539 * tt * tt) - (tt * tt * tt / 3526000d) + (tt * tt * tt * tt / 863310000d));
+    final double eccentricity = 1d - (.002516 * tt) - (.0000074 * tt * tt);
+    double rate = 0d;
+    for (int i = 0; i < MOON.length; i += MOON_TERM_LENGTH) {
+      final double velocity = (MOON[i] * 445267.1114034) + (MOON[i + 1] * 35999.0502909) + (MOON[i + 2] * 477198.8675055) + (MOON[i + 3] * 483202.0175233);
+      final double term = MOON[i + 4] * Math.cos((MOON[i] * elongation) + (MOON[i + 1] * anomalyOfSun) + (MOON[i + 2] * anomalyOfMoon) + (MOON[i + 3] * argumentOfLatitude)) * velocity;
+      rate += MOON[i + 1] == 0d ? term : Math.abs(MOON[i + 1]) == 1d ? term * eccentricity : term * eccentricity * eccentricity;
+    }
+    rate += 3958d * Math.cos(toRadians(119.75 + (131.849 * tt))) * 131.849;
+    rate += 1962d * Math.cos(meanLongitude - argumentOfLatitude) * (481267.88123421 - 483202.0175233);
+    rate += 318d * Math.cos(toRadians(53.09 + (479264.29 * tt))) * 479264.29;
+
+    return (481267.88123421 + (rate * Math.PI / 180d / 1E6)) / LunisolarDateTimeUtils.JULIAN_CENTURY;
+  }
+
+  /**
+   * calculate apparent ecliptic longitude of Sun.
+   *
+   * @param julianDay julian day (UT) .
+   * @return ecliptic longitude represented by angle ( 0&deg;-360&deg; ) .
+   */
+  static double getELOfSun(final double julianDay) {
+    final double tau = (toTT(julianDay) - LunisolarDateTimeUtils.J2000) / JULIAN_MILLENNIUM;
+    final double longitude = Math.toDegrees(evaluate(EARTH_L, tau) / 1E8);
+    final double radius = evaluate(EARTH_R, tau) / 1E8;
+
+    // geocentric, FK5, nutation and aberration.
+    return circulate(circulate(longitude + 180d) + ((-.09033 + getNutation(tau * 10d) - (20.4898 / radius)) / 3600d));
+  }
+
+  /**
+   * calculate the rate of change of ecliptic longitude of Sun, ignoring the nutation and the aberration.
+   *
+   * @param julianDay julian day (UT) .
+   * @return the rate of change represented by angle per day.
+   */
+  static double getELRateOfSun(final double julianDay) {
+    final double tau = (toTT(julianDay) - LunisolarDateTimeUtils.J2000) / JULIAN_MILLENNIUM;
+
+    return Math.toDegrees(evaluateRate(EARTH_L, tau) / 1E8) / JULIAN_MILLENNIUM;
+  }
+
+  /**
+   * evaluate the VSOP87 series.
+   *
+   * @param series the series, per power of time.
+   * @param tau julian millennia from J2000.
+   * @return the sum of the series.
+   */
+  private static double evaluate(final double[][] series, final double tau) {
+    double sum = 0d;
+    double power = 1d;
+    for (double[] terms : series) {
+      double subtotal = 0d;
+      for (int i = 0; i < terms.length; i += 3) {
+        subtotal += terms[i] * Math.cos(terms[i + 1] + (terms[i + 2] * tau));
+      }
+      sum += subtotal * power;
+      power *= tau;
+    }
+
+    return sum;
+  }
+
+  /**
+   * evaluate the derivative of the VSOP87 series.
+   *
+   * @param series the series, per power of time.
+   * @param tau julian millennia from J2000.
+   * @return the derivative of the sum of the series, per julian millennium.
+   */
+  private static double evaluateRate(final double[][] series, final double tau) {
+    double rate = 0d;
+    double power = 1d;
+    double lowerPower = 0d;
+    for (int k = 0; k < series.length; k++) {
+      final double[] terms = series[k];
+      double subtotal = 0d;
+      double derivative = 0d;
+      for (int i = 0; i < terms.length; i += 3) {
+        subtotal += terms[i] * Math.cos(terms[i + 1] + (terms[i + 2] * tau));
+        derivative -= terms[i] * terms[i + 2] * Math.sin(terms[i + 1] + (terms[i + 2] * tau));
+      }
+      rate += (derivative * power) + (k * subtotal * lowerPower);
+      lowerPower = power;
+      power *= tau;
+    }
+
+    return rate;
+  }
+
+  /**
+   * the nutation in longitude, within 0.5 second of arc.
+   *
+   * @param tt julian centuries from J2000.
+   * @return the nutation in seconds of arc.
+   */
+  private static double getNutation(final double tt) {
+    final double node = toRadians(125.04452 - (1934.136261 * tt));
+    final double meanLongitudeOfSun = toRadians(280.4665 + (36000.7698 * tt));
+    final double meanLongitudeOfMoon = toRadians(218.3165 + (481267.8813 * tt));
+
+    return (-17.2 * Math.sin(node)) - (1.32 * Math.sin(2d * meanLongitudeOfSun)) - (.23 * Math.sin(2d * meanLongitudeOfMoon)) + (.21 * Math.sin(2d * node));
+  }
+
+  private static double toRadians(final double angle) {
+    return circulate(angle) * Math.PI / 180d;
+  }
+
+  /**
+   * convert Universal Time to Terrestrial Time.
+   *
+   * @param julianDay julian day (UT) .
+   * @return julian day (TT) .
+   */
+  private static double toTT(final double julianDay) {
+    return julianDay + (LunisolarDateTimeUtils.getDeltaT(julianDay) / 86400d);
+  }
+}
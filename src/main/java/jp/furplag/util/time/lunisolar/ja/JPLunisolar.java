@@ -22,6 +22,7 @@ import jp.furplag.util.ResourceUtils;
 import jp.furplag.util.time.DateTimeUtils;
 import jp.furplag.util.time.DateTimeUtils.FormatStyle;
 import jp.furplag.util.time.lunisolar.AbstractLunisolar;
+import jp.furplag.util.time.lunisolar.Ephemeris;
 import jp.furplag.util.time.lunisolar.LunisolarMonth;
 import jp.furplag.util.time.lunisolar.StructureOfEra;
 
@@ -36,6 +37,11 @@ public class JPLunisolar extends AbstractLunisolar {
     this.chronology = chronology;
   }
 
+  public JPLunisolar(JPLunisolarChronology chronology, Ephemeris ephemeris) {
+    super(chronology, ephemeris);
+    this.chronology = chronology;
+  }
+
   public JPLunisolar(Object instant, JPLunisolarChronology chronology) {
     super(chronology);
     this.chronology = chronology;
@@ -133,7 +139,7 @@ public class JPLunisolar extends AbstractLunisolar {
     FormatStyle timeFormat = formatStyles[1];
     Locale aLocale = Localizer.getAvailableLocale(locale);
     String key = dateFormat.toString() + timeFormat.toString();
-    if (strings.containsKey(aLocale) && strings.get(aLocale).containsKey(key)) return strings.get(aLocale).get(key);
+    if (strings.containsKey(aLocale.toString()) && strings.get(aLocale.toString()).containsKey(key)) return strings.get(aLocale.toString()).get(key);
     String format = "";
     List<Object> temporaries = new ArrayList<Object>();
     if (dateFormat.is()) {
@@ -177,7 +183,7 @@ public class JPLunisolar extends AbstractLunisolar {
       }
     }
     String formatted = MessageFormat.format(dateTime.withYear(year).withMonthOfYear(monthOfYear).withDayOfMonth(dayOfMonth).toString(format.replace("T", " "), aLocale), temporaries.toArray(new Object[] {}));
-    if (!strings.containsKey(aLocale)) strings.put(aLocale.toString(), new HashMap<String, String>());
+    if (!strings.containsKey(aLocale.toString())) strings.put(aLocale.toString(), new HashMap<String, String>());
     strings.get(aLocale.toString()).put(key, formatted);
 
     return formatted;
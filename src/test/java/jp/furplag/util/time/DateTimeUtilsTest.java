@@ -18,17 +18,41 @@
  */
 package jp.furplag.util.time;
 
+import static jp.furplag.util.time.DateTimeUtils.GREGORIAN_CUTOVER;
 import static jp.furplag.util.time.DateTimeUtils.MILLIS_PERIOD;
+import static jp.furplag.util.time.DateTimeUtils.MJD_PERIOD;
+import static jp.furplag.util.time.DateTimeUtils.clearFormatCache;
+import static jp.furplag.util.time.DateTimeUtils.dayKey;
 import static jp.furplag.util.time.DateTimeUtils.fromJD;
+import static jp.furplag.util.time.DateTimeUtils.getFormatter;
+import static jp.furplag.util.time.DateTimeUtils.getPattern;
+import static jp.furplag.util.time.DateTimeUtils.isSameDay;
+import static jp.furplag.util.time.DateTimeUtils.isToday;
 import static jp.furplag.util.time.DateTimeUtils.toAJD;
+import static jp.furplag.util.time.DateTimeUtils.toAJDAtEndOfDay;
+import static jp.furplag.util.time.DateTimeUtils.toAJDAtStartOfDay;
+import static jp.furplag.util.time.DateTimeUtils.toCJD;
 import static jp.furplag.util.time.DateTimeUtils.toDT;
+import static jp.furplag.util.time.DateTimeUtils.toJDN;
+import static jp.furplag.util.time.DateTimeUtils.toMJD;
 import static org.joda.time.DateTimeUtils.fromJulianDay;
 import static org.joda.time.DateTimeUtils.toJulianDay;
+import static org.joda.time.DateTimeUtils.toJulianDayNumber;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import org.joda.time.DateTime;
 import org.joda.time.DateTimeZone;
+import org.joda.time.LocalTime;
 import org.joda.time.chrono.GJChronology;
 import org.joda.time.format.DateTimeFormat;
 import org.junit.After;
@@ -76,6 +100,90 @@ public class DateTimeUtilsTest {
     assertTrue(dateTime.plusHours(12).isEqual(fromJD(Double.valueOf(MILLIS_PERIOD + .5).longValue())));
   }
 
+  /**
+   * {@link jp.furplag.util.time.DateTimeUtils#dayKey(long, org.joda.time.DateTimeZone)}.
+   */
+  @Test
+  public final void testDayKey() {
+    for (String id : new String[] { "UTC", "Asia/Tokyo", "America/Sao_Paulo", "America/New_York", "Australia/Lord_Howe", "Pacific/Apia", "Asia/Kathmandu" }) {
+      DateTimeZone zone = DateTimeZone.forID(id);
+      for (long millis = -2500000000000L; millis < 2000000000000L; millis += 3600000L * 31 + 1234567L) {
+        dateTime = new DateTime(millis, zone);
+        assertEquals(id + ": " + dateTime, dateTime.toLocalDate().toDateTimeAtStartOfDay(DateTimeZone.UTC).getMillis() / 86400000L, dayKey(millis, zone));
+        assertEquals(id + ": " + dateTime, toAJD(dateTime.withTimeAtStartOfDay()), toAJDAtStartOfDay(millis, zone), 0);
+        assertEquals(id + ": " + dateTime, toAJD(dateTime.plusDays(1).withTimeAtStartOfDay().minusMillis(1)), toAJDAtEndOfDay(millis, zone), 0);
+      }
+    }
+    // alternates across the transitions of decades, evicts the cached periods.
+    Random random = new Random(20151010L);
+    for (String id : new String[] { "America/New_York", "Australia/Lord_Howe" }) {
+      DateTimeZone zone = DateTimeZone.forID(id);
+      for (int i = 0; i < 20000; i++) {
+        long millis = -2500000000000L + (long) (random.nextDouble() * 4500000000000L);
+        dateTime = new DateTime(millis, zone);
+        assertEquals(id + ": " + dateTime, dateTime.toLocalDate().toDateTimeAtStartOfDay(DateTimeZone.UTC).getMillis() / 86400000L, dayKey(millis, zone));
+        assertEquals(id + ": " + dateTime, toAJD(dateTime.withTimeAtStartOfDay()), toAJDAtStartOfDay(millis, zone), 0);
+      }
+    }
+    dateTime = DateTime.now(DateTimeZone.forID("Asia/Tokyo"));
+    assertTrue(isToday(dateTime, dateTime.getZone()));
+    assertTrue(isToday(dateTime.withTimeAtStartOfDay(), dateTime.getZone()));
+    assertTrue(!isToday(dateTime.withTimeAtStartOfDay().minusMillis(1), dateTime.getZone()));
+    assertTrue(!isToday(null, dateTime.getZone()));
+    assertTrue(isSameDay(dateTime.withTimeAtStartOfDay(), dateTime, dateTime.getZone()));
+    assertTrue(!isSameDay(dateTime.withTimeAtStartOfDay().minusMillis(1), dateTime, dateTime.getZone()));
+    assertTrue(!isSameDay("not an instant.", dateTime, dateTime.getZone()));
+  }
+
+  /**
+   * {@link jp.furplag.util.time.DateTimeUtils#setClock(org.joda.time.DateTimeUtils.MillisProvider)}.
+   */
+  @Test
+  public final void testSetClock() throws InterruptedException {
+    try {
+      DateTimeUtils.setClock(MillisProviders.fixed(822355200000L));
+      assertEquals(new DateTime("1996-01-23T0Z", DateTimeZone.UTC), toDT(null));
+      assertEquals(new DateTime("1996-01-23T0Z", DateTimeZone.UTC), toDT("not an instant."));
+      assertEquals(toAJD(822355200000L), toAJD(null), 0);
+      assertTrue(isToday("1996-01-23T23:59:59.999Z", DateTimeZone.UTC));
+      assertTrue(!isToday("1996-01-24T0Z", DateTimeZone.UTC));
+
+      MillisProviders.CoarseMillisProvider coarse = MillisProviders.coarse(10L);
+      try {
+        DateTimeUtils.setClock(coarse);
+        long millis = DateTimeUtils.getCurrentMillis();
+        Thread.sleep(100L);
+        assertTrue(millis < DateTimeUtils.getCurrentMillis());
+      } finally {
+        coarse.close();
+      }
+    } finally {
+      DateTimeUtils.setClock(null);
+    }
+    assertEquals(MillisProviders.joda(), DateTimeUtils.getClock());
+  }
+
+  /**
+   * {@link jp.furplag.util.time.DateTimeUtils#getPattern(java.lang.String, java.lang.Object)}.
+   */
+  @Test
+  public final void testGetPattern() {
+    for (Locale locale : new Locale[] { Locale.ROOT, Locale.JAPAN, Locale.US }) {
+      assertEquals(((SimpleDateFormat) DateFormat.getDateInstance(DateFormat.MEDIUM, locale)).toPattern(), getPattern("M-", locale));
+      assertEquals(((SimpleDateFormat) DateFormat.getTimeInstance(DateFormat.SHORT, locale)).toPattern(), getPattern("-S", locale));
+      assertEquals(((SimpleDateFormat) DateFormat.getDateInstance(DateFormat.FULL, locale)).toPattern() + " " + ((SimpleDateFormat) DateFormat.getTimeInstance(DateFormat.FULL, locale)).toPattern(), getPattern("F", locale));
+      assertEquals("", getPattern("--", locale));
+      assertSame(getPattern("LM", locale), getPattern("LM", locale));
+      assertSame(getFormatter("LM", locale), getFormatter("LM", locale));
+      assertEquals(locale, getFormatter("LM", locale).getLocale());
+      dateTime = new DateTime(0L, DateTimeZone.UTC);
+      assertEquals(dateTime.toString(getPattern("LM", locale), locale), dateTime.toString(getFormatter("LM", locale)));
+    }
+    String pattern = getPattern("LM", Locale.JAPAN);
+    clearFormatCache();
+    assertEquals(pattern, getPattern("LM", Locale.JAPAN));
+  }
+
   /**
    * {@link jp.furplag.util.time.DateTimeUtils#toAJD(java.lang.Object)}.
    */
@@ -103,6 +211,66 @@ public class DateTimeUtilsTest {
     assertEquals(toJulianDay(dateTime.getMillis()), toAJD(dateTime, true), 0);
   }
 
+  /**
+   * {@link jp.furplag.util.time.DateTimeUtils#toAJD(long)}.
+   */
+  @Test
+  public final void testToAJDLong() {
+    assertEquals(toJulianDay(0L), toAJD(0L), 0);
+    assertEquals(toJulianDay(GREGORIAN_CUTOVER), toAJD(GREGORIAN_CUTOVER), 0);
+    dateTime = DateTime.now();
+    assertEquals(toAJD((Object) dateTime.getMillis()), toAJD(dateTime.getMillis()), 0);
+    assertEquals(dateTime.getMillis(), fromJD(toAJD(dateTime.getMillis())));
+  }
+
+  /**
+   * {@link jp.furplag.util.time.DateTimeUtils#toAJD(long[], double[], java.util.concurrent.ExecutorService)}.
+   */
+  @Test
+  public final void testBulkConversions() {
+    long[] millis = new long[200000];
+    for (int i = 0; i < millis.length; i++) {
+      millis[i] = (i - 100000L) * 7654321987L + i;
+    }
+    double[] ajds = toAJD(millis, new double[millis.length]);
+    double[] mjds = toMJD(millis, new double[millis.length]);
+    long[] jdns = toJDN(millis, new long[millis.length]);
+    long[] fromJDs = fromJD(ajds, new long[millis.length]);
+    for (int i = 0; i < millis.length; i++) {
+      assertEquals(toAJD(millis[i]), ajds[i], 0);
+      assertEquals(toMJD(millis[i]), mjds[i], 0);
+      assertEquals(toJDN(toAJD(millis[i])), jdns[i]);
+      assertEquals(millis[i], fromJDs[i]);
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      assertTrue(Arrays.equals(ajds, toAJD(millis, new double[millis.length], executor)));
+      assertTrue(Arrays.equals(jdns, toJDN(millis, new long[millis.length], executor)));
+      assertTrue(Arrays.equals(mjds, toMJD(millis, new double[millis.length], executor)));
+      assertTrue(Arrays.equals(fromJDs, fromJD(ajds, new long[millis.length], executor)));
+    } finally {
+      executor.shutdown();
+    }
+    double[] out = new double[] { -1d, -1d, -1d, -1d };
+    toAJD(new long[] { 0L, 0L, 0L }, 1, out, 2, 2);
+    assertTrue(Arrays.equals(new double[] { -1d, -1d, MILLIS_PERIOD, MILLIS_PERIOD }, out));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public final void testBulkConversionsOutOfBounds() {
+    toAJD(new long[3], 1, new double[3], 0, 3);
+  }
+
+  /**
+   * {@link jp.furplag.util.time.DateTimeUtils#toCJD(long, int)}.
+   */
+  @Test
+  public final void testToCJDLongInt() {
+    assertEquals(MILLIS_PERIOD + .5d, toCJD(0L, 0), 0);
+    assertEquals(MILLIS_PERIOD + .875d, toCJD(0L, 9 * 60 * 60 * 1000), 0);
+    assertEquals(toCJD(0L, 9 * 60 * 60 * 1000), toCJD(0L, DateTimeZone.forOffsetHours(9)), 0);
+  }
+
   /**
    * {@link jp.furplag.util.time.DateTimeUtils#toDT(java.lang.Object)}.
    */
@@ -124,7 +292,21 @@ public class DateTimeUtilsTest {
    */
   @Test
   public final void testToDTObjectObject() {
-    // fail("まだ実装されていません"); // TODO
+    assertEquals(new DateTime(0L, DateTimeZone.forOffsetHours(9)), toDT(0L, 9 * 60 * 60 * 1000));
+    assertEquals(new DateTime(0L, DateTimeZone.forOffsetHours(9)), toDT(0L, new LocalTime(9, 0)));
+    assertEquals(new DateTime(0L, DateTimeZone.UTC), toDT(0L, new StringBuilder("+9")));
+    DateTimeConverters.registerInitializerConverter(CharSequence.class, new DateTimeConverters.InitializerConverter() {
+      @Override
+      public DateTime toDT(long millis, Object initializer) {
+        return new DateTime(millis, DateTimeZone.forID(initializer.toString()));
+      }
+    });
+    try {
+      assertEquals(new DateTime(0L, DateTimeZone.forOffsetHours(9)), toDT(0L, new StringBuilder("+09:00")));
+    } finally {
+      DateTimeConverters.registerInitializerConverter(CharSequence.class, null);
+    }
+    assertEquals(new DateTime(0L, DateTimeZone.UTC), toDT(0L, new StringBuilder("+09:00")));
   }
 
   /**
@@ -156,7 +338,12 @@ public class DateTimeUtilsTest {
    */
   @Test
   public final void testToJDNObject() {
-    // fail("まだ実装されていません"); // TODO
+    assertEquals(toJulianDayNumber(0L), toJDN(0L));
+    assertEquals(toJulianDayNumber(0L), toJDN((Object) 0L));
+    assertEquals(toJulianDayNumber(0L), toJDN(MILLIS_PERIOD));
+    dateTime = DateTime.now();
+    assertEquals(toJulianDayNumber(dateTime.getMillis()), toJDN(dateTime));
+    assertEquals(toJulianDayNumber(dateTime.getMillis()), toJDN(dateTime.getMillis()));
   }
 
   /**
@@ -172,7 +359,11 @@ public class DateTimeUtilsTest {
    */
   @Test
   public final void testToMJDObject() {
-    // fail("まだ実装されていません"); // TODO
+    assertEquals(0d, toMJD(-3506716800000L), 0);
+    assertEquals(MILLIS_PERIOD - MJD_PERIOD, toMJD(0L), 0);
+    assertEquals(MILLIS_PERIOD - MJD_PERIOD, toMJD((Object) 0L), 0);
+    dateTime = DateTime.now();
+    assertEquals(toMJD(dateTime), toMJD(dateTime.getMillis()), 0);
   }
 
   /**
@@ -0,0 +1,55 @@
+/**
+ * Copyright (C) 2015+ furplag (https://github.com/furplag/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.util.time;
+
+import static jp.furplag.util.time.InstantParser.INVALID;
+import static jp.furplag.util.time.InstantParser.parse;
+import static org.junit.Assert.assertEquals;
+
+import org.joda.time.DateTime;
+import org.joda.time.chrono.GJChronology;
+import org.junit.Test;
+
+public class InstantParserTest {
+
+  /**
+   * {@link jp.furplag.util.time.InstantParser#parse(java.lang.CharSequence)}.
+   */
+  @Test
+  public void testParse() {
+    assertEquals(INVALID, parse(null));
+    assertEquals(INVALID, parse(""));
+    assertEquals(INVALID, parse("could not convert date-time."));
+    assertEquals(INVALID, parse("1996-02-30"));
+    assertEquals(INVALID, parse("1996-01-23T24:00"));
+    assertEquals(INVALID, parse("1996-01-23T00:00+24:00"));
+    assertEquals(INVALID, parse("1996-01-23Tfoo"));
+    assertEquals(0L, parse("1970-01-01T0Z"));
+    assertEquals(0L, parse(new StringBuilder("1970-01-01T09:00+09:00")));
+    // RFC 3339 allows lowercase "t" and "z" .
+    assertEquals(822391200000L, parse("1996-01-23t10:00z"));
+    assertEquals(822391200000L, parse("1996-01-23T10:00z"));
+    for (String text : new String[] {
+      "1970-01-01", "1996-01-23T0Z", "1996-01-23T9+0900", "1996-1-3T9:5:7,5-0330", "2016-02-29T23:59:59.999999999Z", "2016-02-29T23:59:59.1+01",
+      "0800-12-25T0Z", "1582-10-04T23:59:59.999Z", "1582-10-15T00:00Z", "1500-02-29", "0001-01-01T00:00:00Z", "9999-12-31T23:59:59.999Z",
+      "1996", "1996-01", "1996-023", "1996-W04-2", "+1996-01-23T00:00Z", "T10:00", "19960123",
+      "1996-01-23t10:00z", "1996-01-23T10:00z", "1996-01-23t10:00:00.5+09:00", "1996-w04-2", "t10:00"
+    }) {
+      assertEquals(text, new DateTime(text, GJChronology.getInstanceUTC()).getMillis(), parse(text));
+    }
+  }
+}
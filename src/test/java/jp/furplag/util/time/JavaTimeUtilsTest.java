@@ -0,0 +1,99 @@
+/**
+ * Copyright (C) 2015+ furplag (https://github.com/furplag/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.util.time;
+
+import static jp.furplag.util.time.DateTimeUtils.MILLIS_PERIOD;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.junit.Test;
+
+public class JavaTimeUtilsTest {
+
+  /**
+   * {@link jp.furplag.util.time.DateTimeUtils#toDT(java.lang.Object, java.lang.Object, boolean)}.
+   */
+  @Test
+  public void testToDT() {
+    Instant instant = Instant.ofEpochSecond(822355200L, 123456789);
+    assertEquals(822355200123L, DateTimeUtils.toDT(instant, null, true).getMillis());
+    assertEquals(822355200123L, DateTimeUtils.toDT(instant.atZone(ZoneId.of("Asia/Tokyo")), null, true).getMillis());
+    assertEquals(822355200123L, DateTimeUtils.toDT(instant.atOffset(ZoneOffset.ofHours(-5)), null, true).getMillis());
+    assertEquals(822355200123L, DateTimeUtils.toDT(LocalDateTime.ofEpochSecond(822355200L, 123456789, ZoneOffset.UTC), null, true).getMillis());
+    assertEquals(822355200000L, DateTimeUtils.toDT(LocalDate.of(1996, 1, 23), null, true).getMillis());
+    assertEquals(DateTimeZone.forID("Asia/Tokyo"), DateTimeUtils.toDT(instant, ZoneId.of("Asia/Tokyo"), true).getZone());
+    assertEquals(DateTimeZone.forOffsetHours(9), DateTimeUtils.toDT(instant, ZoneOffset.ofHours(9), true).getZone());
+    // the prefixed offsets, unknown to Joda-Time.
+    assertEquals(DateTimeZone.forOffsetHours(9), DateTimeUtils.toDT(0L, ZoneId.of("UTC+09:00"), true).getZone());
+    assertEquals(DateTimeZone.forOffsetHours(9), DateTimeUtils.toDT(0L, ZoneId.of("GMT+9"), true).getZone());
+    assertEquals(DateTimeZone.UTC, DateTimeUtils.toDT(0L, ZoneId.of("UT"), true).getZone());
+    assertEquals(DateTimeUtils.toAJD(new DateTime(822355200123L)), DateTimeUtils.toAJD(instant), 0);
+    // the local values are resolved in the zone, and read as UTC without zone.
+    assertEquals(822322800000L, DateTimeUtils.toDT(LocalDate.of(1996, 1, 23), "Asia/Tokyo", true).getMillis());
+    assertEquals(0, DateTimeUtils.toDT(LocalDate.of(1996, 1, 23), "Asia/Tokyo", true).getMillisOfDay());
+    assertEquals(822322800123L, DateTimeUtils.toDT(LocalDateTime.of(1996, 1, 23, 0, 0, 0, 123456789), ZoneId.of("Asia/Tokyo"), true).getMillis());
+    assertEquals(822373200000L, DateTimeUtils.toDT(LocalDate.of(1996, 1, 23), ZoneOffset.ofHours(-5), true).getMillis());
+    assertEquals(DateTimeUtils.toAJD(822355200000L), DateTimeUtils.toAJD(LocalDate.of(1996, 1, 23)), 0);
+    // overflows the epoch millis.
+    assertNull(DateTimeUtils.toDT(Instant.MAX, null, true));
+    assertNull(DateTimeUtils.toDT(OffsetDateTime.MIN, null, true));
+    assertNull(DateTimeUtils.toDT(LocalDate.MAX, null, true));
+  }
+
+  /**
+   * {@link jp.furplag.util.time.JavaTimeUtils#toAJD(java.time.Instant)}.
+   */
+  @Test
+  public void testToAJD() {
+    assertEquals(MILLIS_PERIOD, JavaTimeUtils.toAJD(Instant.EPOCH), 0);
+    assertEquals(MILLIS_PERIOD, JavaTimeUtils.toAJD(Instant.EPOCH.atZone(ZoneId.of("Asia/Tokyo"))), 0);
+    assertEquals(MILLIS_PERIOD, JavaTimeUtils.toAJD(OffsetDateTime.of(1970, 1, 1, 9, 0, 0, 0, ZoneOffset.ofHours(9))), 0);
+    assertEquals(DateTimeUtils.toAJD(822355200123L), JavaTimeUtils.toAJD(Instant.ofEpochMilli(822355200123L)), 1E-9);
+    assertEquals(DateTimeUtils.toMJD(822355200123L), JavaTimeUtils.toMJD(Instant.ofEpochMilli(822355200123L)), 1E-9);
+    assertEquals(DateTimeUtils.toCJD(new DateTime(822355200123L), DateTimeZone.forID("Asia/Tokyo")), JavaTimeUtils.toCJD(Instant.ofEpochMilli(822355200123L).atZone(ZoneId.of("Asia/Tokyo"))), 1E-9);
+  }
+
+  /**
+   * {@link jp.furplag.util.time.JavaTimeUtils#fromJD(double)}.
+   */
+  @Test
+  public void testFromJD() {
+    assertEquals(Instant.EPOCH, JavaTimeUtils.fromJD(MILLIS_PERIOD));
+    assertEquals(Instant.ofEpochMilli(822355200123L), JavaTimeUtils.fromJD(DateTimeUtils.toAJD(822355200123L)));
+    assertEquals(ZonedDateTime.of(1970, 1, 1, 9, 0, 0, 0, ZoneId.of("Asia/Tokyo")), JavaTimeUtils.toZDT(MILLIS_PERIOD, ZoneId.of("Asia/Tokyo")));
+  }
+
+  /**
+   * {@link jp.furplag.util.time.JavaTimeUtils#toJDN(java.time.LocalDate)}.
+   */
+  @Test
+  public void testToJDN() {
+    assertEquals(2440588L, JavaTimeUtils.toJDN(LocalDate.of(1970, 1, 1)));
+    assertEquals(LocalDate.of(1996, 1, 23), JavaTimeUtils.fromJDN(JavaTimeUtils.toJDN(LocalDate.of(1996, 1, 23))));
+    assertEquals(DateTimeUtils.toJDN(822355200123L), JavaTimeUtils.toJDN(Instant.ofEpochMilli(822355200123L)));
+  }
+}
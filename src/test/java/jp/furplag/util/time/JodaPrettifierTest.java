@@ -6,13 +6,28 @@ package jp.furplag.util.time;
 
 import static jp.furplag.util.time.JodaPrettifier.prettify;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.Days;
+import org.joda.time.Period;
+import org.joda.time.chrono.GJChronology;
 import org.joda.time.format.DateTimeFormat;
 import org.junit.After;
 import org.junit.AfterClass;
@@ -112,6 +127,159 @@ public class JodaPrettifierTest {
     }
   }
 
+  /**
+   * {@link jp.furplag.util.time.JodaPrettifier#prettify(java.lang.Object, java.lang.Object, java.util.Locale, org.joda.time.DateTimeZone, java.lang.Object)}.
+   */
+  @Test
+  public void testPrettifyOutOfLimit() {
+    DateTimeZone zone = DateTimeZone.forID("Asia/Tokyo");
+    for (Locale locale : new Locale[] { Locale.ROOT, Locale.US, Locale.JAPAN }) {
+      for (long millis : new long[] { DateTimeUtils.GREGORIAN_CUTOVER - 1L, DateTimeUtils.GREGORIAN_CUTOVER, -62135596800000L, 0L, 822355200000L }) {
+        DateTime then = new DateTime(millis, GJChronology.getInstance(zone));
+        String expected = then.toString(DateTimeFormat.forStyle("MS").withLocale(locale).withChronology(GJChronology.getInstance(zone)));
+        assertEquals(expected, prettify(millis, millis + 1000L, locale, zone, false));
+        assertEquals(expected, prettify(millis, millis + 1000L, locale, zone, false));
+      }
+    }
+  }
+
+  /**
+   * {@link jp.furplag.util.time.JodaPrettifier#toRelativeTime(java.lang.Object, java.lang.Object, java.util.Locale, org.joda.time.DateTimeZone, java.lang.Object)}.
+   */
+  @Test
+  public void testToRelativeTime() {
+    final long then = 1000000000000L;
+    DateTimeZone zone = DateTimeZone.UTC;
+    Random random = new Random(20151010L);
+    String[] singulars = { "moments", "millisecond", "second", "minute", "hour", "day", "week", "month", "year", "decade", "century", "millennium" };
+    String[] plurals = { "moments", "milliseconds", "seconds", "minutes", "hours", "days", "weeks", "months", "years", "decades", "centuries", "millennia" };
+    for (int i = 0; i < 20000; i++) {
+      long reference = then - (long) (Math.pow(10, random.nextDouble() * 14.5) * (random.nextBoolean() ? 1 : -1));
+      RelativeTime relativeTime = JodaPrettifier.toRelativeTime(then, reference, Locale.US, zone, null);
+      String text = prettify(then, reference, Locale.US, zone, null);
+      long quantity = Math.abs(relativeTime.getQuantity());
+      String expected = (RelativeTimeUnit.JUST_NOW.equals(relativeTime.getUnit()) ? "" : quantity + " ") + (quantity == 1 ? singulars : plurals)[relativeTime.getUnit().ordinal()] + (relativeTime.getQuantity() < 0 ? " ago" : " from now");
+      assertEquals(reference + ": " + relativeTime, expected, text);
+      assertEquals(then, relativeTime.getMillis());
+    }
+    assertEquals(RelativeTimeUnit.YEAR, JodaPrettifier.toRelativeTime(then, then + (315569259747L * 2), Locale.JAPAN, zone, null).getUnit());
+    assertEquals(-20L, JodaPrettifier.toRelativeTime(then, then + (315569259747L * 2), Locale.JAPAN, zone, null).getQuantity());
+    assertEquals(RelativeTimeUnit.DECADE, JodaPrettifier.toRelativeTime(then, then + (315569259747L * 2), Locale.US, zone, null).getUnit());
+    assertEquals(-1L, JodaPrettifier.toRelativeTime(then, then, Locale.US, zone, null).getQuantity());
+    assertTrue(JodaPrettifier.toRelativeTime(then, then + 3600001L, Locale.US, zone, 3600000L).isOutOfLimit());
+    assertEquals(new RelativeTime(null, 0L, then), JodaPrettifier.toRelativeTime(then, then + 3600001L, Locale.US, zone, 3600000L));
+    assertEquals(null, JodaPrettifier.toRelativeTime(null, then, Locale.US, zone, null));
+  }
+
+  /**
+   * {@link jp.furplag.util.time.JodaPrettifier#getNextChange(java.lang.Object, java.lang.Object, java.util.Locale, org.joda.time.DateTimeZone, java.lang.Object)}.
+   */
+  @Test
+  public void testGetNextChange() {
+    final long then = 1000000000000L;
+    DateTimeZone zone = DateTimeZone.forID("Asia/Tokyo");
+    Random random = new Random(20151010L);
+    for (Locale locale : new Locale[] { Locale.US, Locale.JAPAN, Locale.GERMAN }) {
+      for (int i = 0; i < 2000; i++) {
+        long reference = then - (long) (Math.pow(10, random.nextDouble() * 12.5) * (random.nextBoolean() ? 1 : -1));
+        long nextChange = JodaPrettifier.getNextChange(then, reference, locale, zone, null);
+        String text = prettify(then, reference, locale, zone, null);
+        assertTrue(locale + ": " + reference, nextChange > reference);
+        assertEquals(locale + ": " + reference, text, prettify(then, reference + ((nextChange - reference) / 2), locale, zone, null));
+        assertEquals(locale + ": " + reference, text, prettify(then, nextChange - 1L, locale, zone, null));
+        assertFalse(locale + ": " + reference, text.equals(prettify(then, nextChange, locale, zone, null)));
+      }
+    }
+    assertEquals(then + 3600001L, JodaPrettifier.getNextChange(then, then + 3600000L, Locale.US, zone, 3600000L));
+    assertEquals(then - 3600000L, JodaPrettifier.getNextChange(then, then - 3600001L, Locale.US, zone, 3600000L));
+    assertEquals(new DateTime(then, zone).plusDays(1).withTimeAtStartOfDay().getMillis(), JodaPrettifier.getNextChange(then, then + 1000L, Locale.US, zone, false));
+    assertEquals(Long.MAX_VALUE, JodaPrettifier.getNextChange(then, then + (86400000L * 2), Locale.US, zone, false));
+    assertEquals(Long.MAX_VALUE, JodaPrettifier.getNextChange(null, then, Locale.US, zone, null));
+  }
+
+  /**
+   * {@link jp.furplag.util.time.JodaPrettifier#prettify(java.lang.Object, java.lang.Object, java.util.Locale, org.joda.time.DateTimeZone, java.lang.Object)}.
+   */
+  @Test
+  public void testPrettifyConcurrently() throws Exception {
+    final DateTime then = DateTime.now();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<String>> results = new ArrayList<Future<String>>();
+      for (int i = 0; i < 400; i++) {
+        final DateTime ref = then.plusMinutes((i * 97) + 1);
+        final Locale locale = i % 2 == 0 ? Locale.ROOT : Locale.JAPANESE;
+        results.add(executor.submit(new Callable<String>() {
+          @Override
+          public String call() throws Exception {
+            return prettify(then, ref, locale, null, null);
+          }
+        }));
+      }
+      for (int i = 0; i < results.size(); i++) {
+        PrettyTime prettyTime = new PrettyTime(then.plusMinutes((i * 97) + 1).toDate());
+        if (i % 2 != 0) prettyTime.removeUnit(Decade.class);
+        assertEquals(prettyTime.setLocale(i % 2 == 0 ? Locale.ROOT : Locale.JAPANESE).format(then.toDate()), results.get(i).get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * {@link jp.furplag.util.time.JodaPrettifier#prettifyAll(java.util.Collection, java.lang.Object, java.util.Locale, org.joda.time.DateTimeZone, java.lang.Object, java.util.concurrent.ExecutorService)}.
+   */
+  @Test
+  public void testPrettifyAll() {
+    DateTime ref = DateTime.now();
+    List<Object> thens = new ArrayList<Object>();
+    long[] millis = new long[3000];
+    for (int i = 0; i < millis.length; i++) {
+      millis[i] = ref.getMillis() + ((i - 1500) * 7654321L);
+      thens.add(i % 3 == 0 ? "not an instant." : new DateTime(millis[i]));
+    }
+    thens.set(1, ref);
+    millis[1] = ref.getMillis();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      for (Object limit : new Object[] { null, 12 * 60 * 60 * 1000, 1.5d, Period.days(2), Days.THREE, true, false }) {
+        for (Locale locale : new Locale[] { Locale.ROOT, Locale.JAPANESE }) {
+          List<String> expected = new ArrayList<String>();
+          for (Object then : thens) {
+            expected.add(prettify(then, ref, locale, DateTimeZone.UTC, limit));
+          }
+          assertEquals(String.valueOf(limit), expected, JodaPrettifier.prettifyAll(thens, ref, locale, DateTimeZone.UTC, limit));
+          assertEquals(String.valueOf(limit), expected, JodaPrettifier.prettifyAll(thens, ref, locale, DateTimeZone.UTC, limit, executor));
+          for (int i = 0; i < millis.length; i++) {
+            expected.set(i, prettify(millis[i], ref, locale, null, limit));
+          }
+          assertEquals(String.valueOf(limit), expected, Arrays.asList(JodaPrettifier.prettifyAll(millis, ref, locale, null, limit, executor)));
+        }
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * {@link jp.furplag.util.time.JodaPrettifier#prettifyTo(java.lang.Appendable, java.lang.Object, java.lang.Object, java.util.Locale, org.joda.time.DateTimeZone, java.lang.Object)}.
+   */
+  @Test
+  public void testPrettifyTo() throws IOException {
+    DateTime ref = DateTime.now();
+    for (Object limit : new Object[] { null, 12 * 60 * 60 * 1000, Days.THREE, false }) {
+      for (Locale locale : new Locale[] { Locale.ROOT, Locale.JAPANESE, Locale.GERMAN }) {
+        for (long distance : new long[] { 0L, -1234L, 98765432L, -9876543210L, 987654321098L }) {
+          String expected = prettify(ref.plus(distance), ref, locale, DateTimeZone.UTC, limit);
+          assertEquals(expected, JodaPrettifier.prettifyTo(new StringBuilder(), ref.plus(distance), ref, locale, DateTimeZone.UTC, limit).toString());
+          assertEquals(expected, JodaPrettifier.prettifyTo(new StringWriter(), ref.plus(distance), ref, locale, DateTimeZone.UTC, limit).toString());
+          assertEquals("prefix:" + expected, JodaPrettifier.prettifyTo(new StringBuilder("prefix:"), ref.plus(distance), ref, locale, DateTimeZone.UTC, limit).toString());
+        }
+      }
+    }
+    assertEquals("", JodaPrettifier.prettifyTo(new StringBuilder(), "not an instant.", ref, Locale.ROOT, DateTimeZone.UTC, null).toString());
+  }
+
   /**
    * test for privates.
    */
@@ -0,0 +1,108 @@
+/**
+ * Copyright (C) 2015+ furplag (https://github.com/furplag/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.util.time;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.Days;
+import org.joda.time.Interval;
+import org.joda.time.Months;
+import org.joda.time.Period;
+import org.junit.Test;
+
+public class PrettifyPolicyTest {
+
+  /**
+   * {@link jp.furplag.util.time.PrettifyPolicy#of(java.lang.Object)}.
+   */
+  @Test
+  public void testOf() {
+    assertSame(PrettifyPolicy.ALL, PrettifyPolicy.of(null));
+    assertSame(PrettifyPolicy.ALL, PrettifyPolicy.of(true));
+    assertSame(PrettifyPolicy.NONE, PrettifyPolicy.of(false));
+    assertSame(PrettifyPolicy.ALL, PrettifyPolicy.of("unknown"));
+    PrettifyPolicy policy = PrettifyPolicy.ofMillis(1000L);
+    assertSame(policy, PrettifyPolicy.of(policy));
+    assertEquals(PrettifyPolicy.ofMillis(1000L).toString(), PrettifyPolicy.of(new BigDecimal("1000.00")).toString());
+    assertEquals(PrettifyPolicy.ofDays(1.5).toString(), PrettifyPolicy.of(new BigDecimal("1.5")).toString());
+    assertEquals(PrettifyPolicy.ofMillis(3600000L).toString(), PrettifyPolicy.of(Period.hours(1)).toString());
+  }
+
+  /**
+   * {@link jp.furplag.util.time.PrettifyPolicy#contains(long, long, org.joda.time.DateTimeZone)}.
+   */
+  @Test
+  public void testContains() {
+    DateTimeZone zone = DateTimeZone.forID("America/New_York");
+    DateTime ref = new DateTime(2016, 3, 13, 12, 0, zone);
+    Interval[] expected = {
+      new Interval(ref.minusMillis(1000), ref.plusMillis(1001)),
+      new Interval(ref.minusHours(1), ref.plusMillis(1).plusHours(1)),
+      new Interval(ref.minusDays(1), ref.plusMillis(1).plusDays(1)),
+      new Interval(ref.minusMonths(1), ref.plusMillis(1).plusMonths(1)),
+      new Interval(ref.minusMillis(129600000), ref.plusMillis(129600000)),
+      new Interval(ref.minus(86400000L), ref.plus(86400001L)),
+    };
+    Object[] limits = { 1000, Period.hours(1), Days.ONE, Months.ONE, 1.5d, new DateTime(86400000L) };
+    for (int i = 0; i < limits.length; i++) {
+      PrettifyPolicy policy = PrettifyPolicy.of(limits[i]);
+      for (long then = expected[i].getStartMillis() - 2; then < expected[i].getEndMillis() + 2; then++) {
+        if (then - expected[i].getStartMillis() > 2 && expected[i].getEndMillis() - then > 2) then = expected[i].getEndMillis() - 3;
+        assertEquals(limits[i] + ": " + then, expected[i].contains(then), policy.contains(then, ref.getMillis(), zone));
+        assertEquals(limits[i] + ": " + then, expected[i].contains(then), policy.resolve(ref.getMillis(), zone).contains(then, ref.getMillis(), null));
+      }
+    }
+    assertTrue(PrettifyPolicy.ALL.contains(Long.MIN_VALUE + 1, 0L, null));
+    assertTrue(PrettifyPolicy.ALL.contains(Long.MAX_VALUE - 1, 0L, null));
+    assertFalse(PrettifyPolicy.NONE.contains(0L, 0L, null));
+    // the distance overflows.
+    assertTrue(PrettifyPolicy.ALL.contains(Long.MIN_VALUE, Long.MAX_VALUE, null));
+    assertTrue(PrettifyPolicy.ALL.contains(Long.MAX_VALUE, Long.MIN_VALUE, null));
+    assertTrue(PrettifyPolicy.ofMillis(Long.MAX_VALUE - 1).contains(Long.MIN_VALUE, -2L, null));
+    assertFalse(PrettifyPolicy.ofMillis(Long.MAX_VALUE - 1).contains(Long.MIN_VALUE, 0L, null));
+    assertFalse(PrettifyPolicy.ofMillis(1000).contains(Long.MIN_VALUE, Long.MAX_VALUE, null));
+    assertFalse(PrettifyPolicy.ofMillis(1000).contains(Long.MAX_VALUE, Long.MIN_VALUE, null));
+  }
+
+  /**
+   * {@link jp.furplag.util.time.PrettifyPolicy#getNextChange(long, long, DateTimeZone)}.
+   */
+  @Test
+  public void testGetNextChange() {
+    assertEquals(Long.MAX_VALUE, PrettifyPolicy.ALL.getNextChange(Long.MIN_VALUE, Long.MAX_VALUE, null));
+    assertEquals(Long.MAX_VALUE, PrettifyPolicy.NONE.getNextChange(0L, 0L, null));
+    PrettifyPolicy policy = PrettifyPolicy.ofMillis(1000);
+    assertEquals(1001L, policy.getNextChange(0L, 0L, null));
+    assertEquals(-1000L, policy.getNextChange(0L, -5000L, null));
+    assertEquals(Long.MAX_VALUE, policy.getNextChange(0L, 1001L, null));
+    assertEquals(1L, PrettifyPolicy.ofMillis(Long.MAX_VALUE - 1).getNextChange(Long.MAX_VALUE, Long.MIN_VALUE, null));
+    assertEquals(Long.MAX_VALUE, PrettifyPolicy.ofMillis(Long.MAX_VALUE - 1).getNextChange(Long.MAX_VALUE, 1L, null));
+    assertEquals(Long.MIN_VALUE + 1001, policy.getNextChange(Long.MIN_VALUE, Long.MIN_VALUE + 1000, null));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testOfNegative() {
+    PrettifyPolicy.of(-1);
+  }
+}
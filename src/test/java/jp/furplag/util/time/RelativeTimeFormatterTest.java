@@ -0,0 +1,95 @@
+/**
+ * Copyright (C) 2015+ furplag (https://github.com/furplag/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.util.time;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.Test;
+import org.ocpsoft.prettytime.PrettyTime;
+import org.ocpsoft.prettytime.units.Decade;
+
+public class RelativeTimeFormatterTest {
+
+  /**
+   * {@link jp.furplag.util.time.RelativeTimeFormatter#format(long, long)}.
+   */
+  @Test
+  public void testFormat() {
+    final long reference = 1000000000000L;
+    Random random = new Random(20151010L);
+    for (Locale locale : new Locale[] { Locale.ROOT, Locale.ENGLISH, Locale.US, Locale.JAPANESE, Locale.JAPAN, Locale.GERMAN, new Locale("cs") }) {
+      RelativeTimeFormatter formatter = RelativeTimeFormatter.of(locale);
+      PrettyTime prettyTime = new PrettyTime(new Date(reference));
+      if (Locale.JAPANESE.getLanguage().equals(locale.getLanguage())) prettyTime.removeUnit(Decade.class);
+      prettyTime.setLocale(locale);
+      for (int i = 0; i < 20000; i++) {
+        long difference = (long) (Math.pow(10, random.nextDouble() * 14.5) * (random.nextBoolean() ? 1 : -1));
+        assertEquals(locale + ": " + difference, prettyTime.format(new Date(reference + difference)), formatter.format(reference + difference, reference));
+      }
+      for (long difference : new long[] { 0L, 1L, -1L, 60000L, -59999L, 3599999L, 31556925960L * 100, 315569259600L, -315569259600L, 31556925974700L }) {
+        assertEquals(locale + ": " + difference, prettyTime.format(new Date(reference + difference)), formatter.format(reference + difference, reference));
+      }
+    }
+  }
+
+  /**
+   * {@link jp.furplag.util.time.RelativeTimeFormatter#formatTo(Appendable, long, long)}.
+   */
+  @Test
+  public void testFormatTo() throws IOException {
+    final long reference = 1000000000000L;
+    Random random = new Random(20151010L);
+    for (Locale locale : new Locale[] { Locale.ROOT, Locale.JAPAN, Locale.GERMAN }) {
+      RelativeTimeFormatter formatter = RelativeTimeFormatter.of(locale);
+      for (int i = 0; i < 2000; i++) {
+        long difference = (long) (Math.pow(10, random.nextDouble() * 14.5) * (random.nextBoolean() ? 1 : -1));
+        assertEquals(locale + ": " + difference, "prefix:" + formatter.format(reference + difference, reference), formatter.formatTo(new StringBuilder("prefix:"), reference + difference, reference).toString());
+      }
+      // the quantities which are too large to cache.
+      for (long difference : new long[] { 128000L, -86400000L * 200, 31556925960L * 1000, -31556925974700L }) {
+        assertEquals(locale + ": " + difference, formatter.format(reference + difference, reference), formatter.formatTo(new StringBuilder(), reference + difference, reference).toString());
+      }
+    }
+  }
+
+  /**
+   * {@link jp.furplag.util.time.JodaPrettifier#getCacheStatistics()}.
+   */
+  @Test
+  public void testCache() {
+    final long reference = 1000000000000L;
+    RelativeTimeFormatter formatter = RelativeTimeFormatter.of(Locale.FRENCH);
+    String text = formatter.format(reference - 180000L, reference);
+    long hits = JodaPrettifier.getCacheStatistics().getHitCount();
+    long misses = JodaPrettifier.getCacheStatistics().getMissCount();
+    assertSame(text, formatter.format(reference - 180001L, reference));
+    assertEquals(hits + 1, JodaPrettifier.getCacheStatistics().getHitCount());
+    assertEquals(misses, JodaPrettifier.getCacheStatistics().getMissCount());
+    JodaPrettifier.clearCache();
+    assertEquals(text, RelativeTimeFormatter.of(Locale.FRENCH).format(reference - 180000L, reference));
+    assertEquals(hits + 1, JodaPrettifier.getCacheStatistics().getHitCount());
+    assertEquals(misses + 1, JodaPrettifier.getCacheStatistics().getMissCount());
+    assertTrue(JodaPrettifier.getCacheStatistics().getHitRate() > 0d);
+  }
+}
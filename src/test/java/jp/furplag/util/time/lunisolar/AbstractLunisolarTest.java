@@ -0,0 +1,106 @@
+/**
+ * Copyright (C) 2015+ furplag (https://github.com/furplag/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.util.time.lunisolar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import jp.furplag.util.time.lunisolar.ja.JPLunisolar;
+import jp.furplag.util.time.lunisolar.ja.JPLunisolarChronology;
+
+public class AbstractLunisolarTest {
+
+  /** exposes the searches of {@link AbstractLunisolar} . */
+  private static final class Lunisolar extends JPLunisolar {
+
+    private Lunisolar(final Ephemeris ephemeris) {
+      super(JPLunisolarChronology.Tenpo, ephemeris);
+    }
+  }
+
+  /**
+   * {@link jp.furplag.util.time.lunisolar.AbstractLunisolar#getFirstDayOfMonth(double)}.
+   */
+  @Test
+  public void testGetFirstDayOfMonth() {
+    // 2000-01-06T18:14Z .
+    assertEquals(2451550.2597, new Lunisolar(Ephemerides.PRECISE).getFirstDayOfMonth(2451560d), 5E-4);
+    assertEquals(2451550.2597, new Lunisolar(Ephemerides.DEFAULT).getFirstDayOfMonth(2451560d), 2E-2);
+    for (Ephemerides ephemeris : Ephemerides.values()) {
+      Lunisolar lunisolar = new Lunisolar(ephemeris);
+      Random random = new Random(20151010L);
+      for (int i = 0; i < 500; i++) {
+        double julianDay = ChebyshevEphemeris.FROM + (random.nextDouble() * (ChebyshevEphemeris.TO - ChebyshevEphemeris.FROM));
+        double firstDay = lunisolar.getFirstDayOfMonth(julianDay);
+        assertTrue(ephemeris + ": " + julianDay, firstDay <= julianDay && firstDay > julianDay - 30d);
+        assertEquals(ephemeris + ": " + julianDay, 0d, angle(ephemeris.getELOfMoon(firstDay), ephemeris.getELOfSun(firstDay)), 1E-6);
+      }
+    }
+  }
+
+  /**
+   * {@link jp.furplag.util.time.lunisolar.AbstractLunisolar#getLatestTerm(double, double)}.
+   */
+  @Test
+  public void testGetLatestTerm() {
+    // 2000-03-20T07:35Z .
+    assertEquals(2451623.8160, new Lunisolar(Ephemerides.PRECISE).getLatestTerm(2451630d, 0), 5E-4);
+    assertEquals(2451623.8160, new Lunisolar(Ephemerides.DEFAULT).getLatestTerm(2451630d, 0), 2E-2);
+    for (Ephemerides ephemeris : Ephemerides.values()) {
+      Lunisolar lunisolar = new Lunisolar(ephemeris);
+      Random random = new Random(20151010L);
+      for (int i = 0; i < 500; i++) {
+        double julianDay = ChebyshevEphemeris.FROM + (random.nextDouble() * (ChebyshevEphemeris.TO - ChebyshevEphemeris.FROM));
+        double angle = 15 * random.nextInt(24);
+        double solarTerm = lunisolar.getLatestTerm(julianDay, angle);
+        assertTrue(ephemeris + ": " + julianDay, solarTerm <= julianDay && solarTerm > julianDay - 367d);
+        assertEquals(ephemeris + ": " + julianDay, 0d, angle(ephemeris.getELOfSun(solarTerm), angle), 1E-6);
+      }
+    }
+  }
+
+  /**
+   * {@link jp.furplag.util.time.lunisolar.AbstractLunisolar#getIterationCount()}.
+   */
+  @Test
+  public void testGetIterationCount() {
+    Lunisolar lunisolar = new Lunisolar(Ephemerides.DEFAULT);
+    assertEquals(0L, lunisolar.getSolveCount());
+    assertEquals(0L, lunisolar.getIterationCount());
+    Random random = new Random(20151010L);
+    for (int i = 0; i < 1000; i++) {
+      double julianDay = ChebyshevEphemeris.FROM + (random.nextDouble() * (ChebyshevEphemeris.TO - ChebyshevEphemeris.FROM));
+      long iterations = lunisolar.getIterationCount();
+      lunisolar.getFirstDayOfMonth(julianDay);
+      assertTrue(lunisolar.getIterationCount() - iterations <= 8);
+      iterations = lunisolar.getIterationCount();
+      lunisolar.getLatestTerm(julianDay, 15 * random.nextInt(24));
+      assertTrue(lunisolar.getIterationCount() - iterations <= 8);
+    }
+    assertEquals(2000L, lunisolar.getSolveCount());
+  }
+
+  private static double angle(final double longitude, final double expected) {
+    final double difference = Math.abs(longitude - expected) % 360d;
+
+    return difference > 180d ? 360d - difference : difference;
+  }
+}
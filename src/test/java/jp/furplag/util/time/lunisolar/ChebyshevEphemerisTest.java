@@ -0,0 +1,95 @@
+/**
+ * Copyright (C) 2015+ furplag (https://github.com/furplag/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.util.time.lunisolar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class ChebyshevEphemerisTest {
+
+  @After
+  public void tearDown() {
+    LunisolarDateTimeUtils.setApproximation(true);
+  }
+
+  /**
+   * {@link jp.furplag.util.time.lunisolar.LunisolarDateTimeUtils#getELOfSun(double)}.
+   */
+  @Test
+  public void testApproximation() {
+    Random random = new Random(20151010L);
+    for (int i = 0; i < 20000; i++) {
+      double julianDay = ChebyshevEphemeris.FROM + (random.nextDouble() * (ChebyshevEphemeris.TO - ChebyshevEphemeris.FROM));
+      LunisolarDateTimeUtils.setApproximation(true);
+      double sun = LunisolarDateTimeUtils.getELOfSun(julianDay);
+      double moon = LunisolarDateTimeUtils.getELOfMoon(julianDay);
+      assertTrue(sun >= 0d && sun < 360d);
+      assertTrue(moon >= 0d && moon < 360d);
+      LunisolarDateTimeUtils.setApproximation(false);
+      assertEquals(julianDay + ": Sun", 0d, angle(sun, LunisolarDateTimeUtils.getELOfSun(julianDay)), 1E-8);
+      assertEquals(julianDay + ": Moon", 0d, angle(moon, LunisolarDateTimeUtils.getELOfMoon(julianDay)), 1E-8);
+    }
+  }
+
+  /**
+   * {@link jp.furplag.util.time.lunisolar.LunisolarDateTimeUtils#setApproximation(boolean)}.
+   */
+  @Test
+  public void testOutOfRange() {
+    for (double julianDay : new double[] { ChebyshevEphemeris.FROM - 1d, ChebyshevEphemeris.TO, ChebyshevEphemeris.TO + 365d }) {
+      LunisolarDateTimeUtils.setApproximation(true);
+      double sun = LunisolarDateTimeUtils.getELOfSun(julianDay);
+      double moon = LunisolarDateTimeUtils.getELOfMoon(julianDay);
+      LunisolarDateTimeUtils.setApproximation(false);
+      assertEquals(LunisolarDateTimeUtils.getELOfSun(julianDay), sun, 0d);
+      assertEquals(LunisolarDateTimeUtils.getELOfMoon(julianDay), moon, 0d);
+    }
+  }
+
+  /**
+   * {@link jp.furplag.util.time.lunisolar.LunisolarDateTimeUtils#getELOfSun(double[], double[])}.
+   */
+  @Test
+  public void testGetELOfArray() {
+    Random random = new Random(20151010L);
+    double[] julianDays = new double[1000];
+    for (int i = 0; i < julianDays.length; i++) {
+      julianDays[i] = ChebyshevEphemeris.FROM - 3650d + (random.nextDouble() * (ChebyshevEphemeris.TO - ChebyshevEphemeris.FROM + 7300d));
+    }
+    for (boolean approximation : new boolean[] { true, false }) {
+      LunisolarDateTimeUtils.setApproximation(approximation);
+      double[] suns = LunisolarDateTimeUtils.getELOfSun(julianDays, null);
+      double[] moons = LunisolarDateTimeUtils.getELOfMoon(julianDays, new double[julianDays.length]);
+      for (int i = 0; i < julianDays.length; i++) {
+        assertEquals(julianDays[i] + ": Sun", LunisolarDateTimeUtils.getELOfSun(julianDays[i]), suns[i], 0d);
+        assertEquals(julianDays[i] + ": Moon", LunisolarDateTimeUtils.getELOfMoon(julianDays[i]), moons[i], 0d);
+      }
+    }
+    assertEquals(0, LunisolarDateTimeUtils.getELOfSun(new double[0], null).length);
+  }
+
+  private static double angle(final double longitude, final double expected) {
+    final double difference = Math.abs(longitude - expected);
+
+    return difference > 180d ? 360d - difference : difference;
+  }
+}
@@ -0,0 +1,138 @@
+/**
+ * Copyright (C) 2015+ furplag (https://github.com/furplag/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.util.time.lunisolar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Test;
+
+import jp.furplag.util.time.lunisolar.ja.JPLunisolar;
+import jp.furplag.util.time.lunisolar.ja.JPLunisolarChronology;
+
+public class EphemeridesTest {
+
+  @After
+  public void tearDown() {
+    LunisolarDateTimeUtils.setApproximation(true);
+  }
+
+  /**
+   * {@link jp.furplag.util.time.lunisolar.Ephemerides#PRECISE}.
+   */
+  @Test
+  public void testPrecise() {
+    // J. Meeus, "Astronomical Algorithms", example 25.b and 47.a , in TT.
+    assertEquals(199.906060, Ephemerides.PRECISE.getELOfSun(toUT(2448908.5)), 1E-4);
+    assertEquals(133.167265, Ephemerides.PRECISE.getELOfMoon(toUT(2448724.5)), 1E-4);
+    Random random = new Random(20151010L);
+    for (int i = 0; i < 1000; i++) {
+      // 1900 to 2100 .
+      double julianDay = 2415020.5 + (random.nextDouble() * 73050d);
+      double sun = Ephemerides.PRECISE.getELOfSun(julianDay);
+      double moon = Ephemerides.PRECISE.getELOfMoon(julianDay);
+      assertTrue(sun >= 0d && sun < 360d);
+      assertTrue(moon >= 0d && moon < 360d);
+      // the short series takes the julian day as is.
+      double tt = julianDay + (LunisolarDateTimeUtils.getDeltaT(julianDay) / 86400d);
+      assertEquals(julianDay + ": Sun", 0d, angle(sun, Ephemerides.SERIES.getELOfSun(tt)), .02);
+      assertEquals(julianDay + ": Moon", 0d, angle(moon, Ephemerides.SERIES.getELOfMoon(tt)), .02);
+    }
+  }
+
+  /**
+   * {@link jp.furplag.util.time.lunisolar.LunisolarDateTimeUtils#getDeltaT(double)}.
+   */
+  @Test
+  public void testGetDeltaT() {
+    // F. Espenak and J. Meeus, "Five Millennium Canon of Solar Eclipses", table 2 .
+    assertEquals(10580d, LunisolarDateTimeUtils.getDeltaT(1721058.5), 10d);
+    assertEquals(1570d, LunisolarDateTimeUtils.getDeltaT(2086308.5), 10d);
+    assertEquals(120d, LunisolarDateTimeUtils.getDeltaT(2305448.5), 1d);
+    assertEquals(29d, LunisolarDateTimeUtils.getDeltaT(2433282.5), 1d);
+    assertEquals(64d, LunisolarDateTimeUtils.getDeltaT(2451544.5), 1d);
+    // continuous at the boundaries of the polynomials.
+    for (double year : new double[] { 500, 1600, 1700, 1800, 1860, 1900, 1920, 1941, 1961, 1986, 2005, 2050, 2150 }) {
+      double julianDay = LunisolarDateTimeUtils.J2000 + ((year - 2000d) * LunisolarDateTimeUtils.JULIAN_YEAR);
+      assertEquals(year + "", LunisolarDateTimeUtils.getDeltaT(julianDay - 1d), LunisolarDateTimeUtils.getDeltaT(julianDay), 2d);
+    }
+  }
+
+  /**
+   * {@link jp.furplag.util.time.lunisolar.Ephemerides#DEFAULT}.
+   */
+  @Test
+  public void testTiers() {
+    double julianDay = 2457305.5;
+    for (boolean approximation : new boolean[] { true, false }) {
+      LunisolarDateTimeUtils.setApproximation(approximation);
+      Ephemeris expect = approximation ? Ephemerides.CHEBYSHEV : Ephemerides.SERIES;
+      assertEquals(expect.getELOfSun(julianDay), Ephemerides.DEFAULT.getELOfSun(julianDay), 0d);
+      assertEquals(expect.getELOfMoon(julianDay), Ephemerides.DEFAULT.getELOfMoon(julianDay), 0d);
+    }
+    LunisolarDateTimeUtils.setApproximation(true);
+    assertEquals(Ephemerides.SERIES.getELOfMoon(julianDay), Ephemerides.CHEBYSHEV.getELOfMoon(julianDay), 1E-8);
+    assertEquals(LunisolarDateTimeUtils.getELOfMoon(julianDay, false), Ephemerides.SERIES.getELOfMoon(julianDay), 0d);
+  }
+
+  /**
+   * {@link jp.furplag.util.time.lunisolar.Ephemeris#getELRateOfMoon(double)}.
+   */
+  @Test
+  public void testGetELRate() {
+    Random random = new Random(20151010L);
+    for (Ephemerides ephemeris : Ephemerides.values()) {
+      for (int i = 0; i < 1000; i++) {
+        double julianDay = ChebyshevEphemeris.FROM + (random.nextDouble() * (ChebyshevEphemeris.TO - ChebyshevEphemeris.FROM));
+        double sun = difference(ephemeris.getELOfSun(julianDay + 1E-3), ephemeris.getELOfSun(julianDay - 1E-3)) / 2E-3;
+        double moon = difference(ephemeris.getELOfMoon(julianDay + 1E-3), ephemeris.getELOfMoon(julianDay - 1E-3)) / 2E-3;
+        assertEquals(ephemeris + ": " + julianDay, sun, ephemeris.getELRateOfSun(julianDay), sun * 1E-4);
+        assertEquals(ephemeris + ": " + julianDay, moon, ephemeris.getELRateOfMoon(julianDay), moon * 1E-4);
+      }
+    }
+  }
+
+  /**
+   * {@link jp.furplag.util.time.lunisolar.AbstractLunisolar#getEphemeris()}.
+   */
+  @Test
+  public void testGetEphemeris() {
+    assertSame(Ephemerides.DEFAULT, new JPLunisolar(JPLunisolarChronology.Tenpo).getEphemeris());
+    assertSame(Ephemerides.DEFAULT, new JPLunisolar(JPLunisolarChronology.Tenpo, (Ephemeris) null).getEphemeris());
+    assertSame(Ephemerides.PRECISE, new JPLunisolar(JPLunisolarChronology.Tenpo, Ephemerides.PRECISE).getEphemeris());
+  }
+
+  private static double toUT(final double julianDay) {
+    return julianDay - (LunisolarDateTimeUtils.getDeltaT(julianDay) / 86400d);
+  }
+
+  private static double angle(final double longitude, final double expected) {
+    final double difference = Math.abs(longitude - expected);
+
+    return difference > 180d ? 360d - difference : difference;
+  }
+
+  private static double difference(final double longitude, final double expected) {
+    final double difference = longitude - expected;
+
+    return difference > 180d ? difference - 360d : difference < -180d ? difference + 360d : difference;
+  }
+}
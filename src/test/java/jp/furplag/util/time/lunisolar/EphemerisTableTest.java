@@ -0,0 +1,163 @@
+/**
+ * Copyright (C) 2015+ furplag (https://github.com/furplag/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.util.time.lunisolar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import jp.furplag.util.time.lunisolar.ja.JPLunisolar;
+import jp.furplag.util.time.lunisolar.ja.JPLunisolarChronology;
+
+public class EphemerisTableTest {
+
+  /** 1900-01-01T0Z . */
+  private static final double FROM = 2415020.5;
+
+  /** 2000-01-01T0Z . */
+  private static final double TO = 2451544.5;
+
+  private static File file;
+
+  private static EphemerisTable table;
+
+  @BeforeClass
+  public static void setUpBeforeClass() throws IOException {
+    file = File.createTempFile("lunisolar", ".table");
+    EphemerisTable.write(file, Ephemerides.CHEBYSHEV, FROM, TO);
+    table = EphemerisTable.open(file);
+  }
+
+  @AfterClass
+  public static void tearDownAfterClass() {
+    table = null;
+    if (!file.delete()) file.deleteOnExit();
+  }
+
+  /**
+   * {@link jp.furplag.util.time.lunisolar.EphemerisTable#open(java.io.File)}.
+   */
+  @Test
+  public void testOpen() throws IOException {
+    assertSame(Ephemerides.CHEBYSHEV, table.getEphemeris());
+    assertEquals(FROM, table.getFrom(), 0d);
+    assertEquals(TO, table.getTo(), 0d);
+    // 12 + 8 doubles of header, 1237 new moons and 2400 solar terms in the century.
+    assertEquals(40 + ((1237 + 2400) * 8), file.length());
+    assertEquals(Ephemerides.CHEBYSHEV.getELOfMoon(FROM), table.getELOfMoon(FROM), 0d);
+    assertEquals(Ephemerides.CHEBYSHEV.getELRateOfSun(FROM), table.getELRateOfSun(FROM), 0d);
+    File broken = File.createTempFile("lunisolar", ".table");
+    try {
+      FileOutputStream out = new FileOutputStream(broken);
+      out.write(new byte[64]);
+      out.close();
+      EphemerisTable.open(broken);
+      fail("a table must be validated.");
+    } catch (IOException e) {
+    } finally {
+      broken.delete();
+    }
+  }
+
+  /**
+   * {@link jp.furplag.util.time.lunisolar.EphemerisTable#getFirstDayOfMonth(double)}.
+   */
+  @Test
+  public void testGetFirstDayOfMonth() {
+    EventSolver solver = new EventSolver(Ephemerides.CHEBYSHEV);
+    Random random = new Random(20151010L);
+    for (int i = 0; i < 2000; i++) {
+      double julianDay = FROM + 30d + (random.nextDouble() * (TO - FROM - 30d));
+      assertEquals(julianDay + "", solver.getFirstDayOfMonth(julianDay), table.getFirstDayOfMonth(julianDay), 1E-7);
+    }
+    assertTrue(Double.isNaN(table.getFirstDayOfMonth(FROM - 1d)));
+    assertTrue(Double.isNaN(table.getFirstDayOfMonth(TO)));
+    // the latest new moon is before the table.
+    assertTrue(Double.isNaN(table.getFirstDayOfMonth(FROM)));
+  }
+
+  /**
+   * {@link jp.furplag.util.time.lunisolar.EphemerisTable#getLatestTerm(double, double)}.
+   */
+  @Test
+  public void testGetLatestTerm() {
+    EventSolver solver = new EventSolver(Ephemerides.CHEBYSHEV);
+    Random random = new Random(20151010L);
+    for (int i = 0; i < 2000; i++) {
+      double julianDay = FROM + 366d + (random.nextDouble() * (TO - FROM - 366d));
+      double angle = 15 * (random.nextInt(48) - 24);
+      assertEquals(julianDay + ": " + angle, solver.getLatestTerm(julianDay, angle), table.getLatestTerm(julianDay, angle), 1E-7);
+    }
+    assertTrue(Double.isNaN(table.getLatestTerm(TO, 0)));
+    assertTrue(Double.isNaN(table.getLatestTerm(FROM + 1, 0)));
+    assertTrue(Double.isNaN(table.getLatestTerm(FROM + 1000, 10)));
+  }
+
+  /**
+   * {@link jp.furplag.util.time.lunisolar.AbstractLunisolar#getFirstDayOfMonth(double)}.
+   */
+  @Test
+  public void testFallback() {
+    JPLunisolar lunisolar = new JPLunisolar(JPLunisolarChronology.Tenpo, table);
+    JPLunisolar live = new JPLunisolar(JPLunisolarChronology.Tenpo, Ephemerides.CHEBYSHEV);
+    assertEquals(live.getFirstDayOfMonth(2440000d), lunisolar.getFirstDayOfMonth(2440000d), 1E-7);
+    assertEquals(live.getLatestTerm(2440000d, 270), lunisolar.getLatestTerm(2440000d, 270), 1E-7);
+    assertEquals(0L, lunisolar.getSolveCount());
+    assertEquals(live.getFirstDayOfMonth(TO + 100d), lunisolar.getFirstDayOfMonth(TO + 100d), 0d);
+    assertEquals(live.getLatestTerm(FROM, 270), lunisolar.getLatestTerm(FROM, 270), 0d);
+    assertEquals(2L, lunisolar.getSolveCount());
+  }
+
+  /**
+   * {@link jp.furplag.util.time.lunisolar.AbstractLunisolar#AbstractLunisolar(LunisolarChronology, Ephemeris)}.
+   */
+  @Test
+  public void testOverridden() {
+    JPLunisolar lunisolar = new JPLunisolar(JPLunisolarChronology.Tenpo, table) {
+      @Override
+      protected double getELOfSun(double julianDay) {
+        return super.getELOfSun(julianDay);
+      }
+    };
+    lunisolar.getFirstDayOfMonth(2440000d);
+    assertEquals(1L, lunisolar.getSolveCount());
+  }
+
+  /**
+   * {@link jp.furplag.util.time.lunisolar.EphemerisTable#main(String[])}.
+   */
+  @Test
+  public void testMain() throws IOException {
+    for (String[] args : new String[][] { null, {}, { file.getPath(), "2415020.5" }, { file.getPath(), "2415020.5", "2451544.5", "CHEBYSHEV", "" } }) {
+      try {
+        EphemerisTable.main(args);
+        fail("the range needs both of fromJD and toJD.");
+      } catch (IllegalArgumentException e) {
+      }
+    }
+  }
+}
@@ -0,0 +1,155 @@
+/**
+ * Copyright (C) 2015+ furplag (https://github.com/furplag/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.furplag.util.time.lunisolar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Test;
+
+public class EventIteratorTest {
+
+  /** 1900-01-01T0Z . */
+  private static final double FROM = 2415020.5;
+
+  /** 2000-01-01T0Z . */
+  private static final double TO = 2451544.5;
+
+  /**
+   * {@link jp.furplag.util.time.lunisolar.EventIterator#newMoons(Ephemeris, double)}.
+   */
+  @Test
+  public void testNewMoons() {
+    EventSolver solver = new EventSolver(Ephemerides.DEFAULT);
+    EventIterator newMoons = EventIterator.newMoons(null, FROM);
+    double newMoon = newMoons.nextMoment();
+    assertEquals(solver.getFirstDayOfMonth(FROM + 30d), newMoon, 1E-6);
+    for (int i = 1; i < 1237; i++) {
+      double next = newMoons.nextMoment();
+      assertEquals(solver.getFirstDayOfMonth(newMoon + 30d), next, 1E-6);
+      newMoon = next;
+    }
+    assertTrue(newMoon < TO && newMoons.nextMoment() > TO);
+    // 1237 solves, about three evaluations for each.
+    assertTrue(newMoons.getIterationCount() < 1237 * 4);
+  }
+
+  /**
+   * {@link jp.furplag.util.time.lunisolar.EventIterator#solarTerms(Ephemeris, double)}.
+   */
+  @Test
+  public void testSolarTerms() {
+    EventSolver solver = new EventSolver(Ephemerides.DEFAULT);
+    EventIterator solarTerms = EventIterator.solarTerms(Ephemerides.DEFAULT, FROM);
+    double solarTerm = solarTerms.nextMoment();
+    // 1900-01-06, shokan ( 285&deg; ) .
+    assertEquals(285d, solarTerms.getAngle(), 0d);
+    assertEquals(solver.getLatestTerm(FROM + 16d, 285d), solarTerm, 1E-6);
+    for (int i = 1; i < 2400; i++) {
+      double next = solarTerms.nextMoment();
+      assertEquals(15d * ((i + 19) % 24), solarTerms.getAngle(), 0d);
+      assertEquals(solver.getLatestTerm(solarTerm + 16d, solarTerms.getAngle()), next, 1E-6);
+      solarTerm = next;
+    }
+    assertTrue(solarTerm < TO && solarTerms.nextMoment() > TO);
+    assertTrue(solarTerms.getIterationCount() < 2400 * 4);
+  }
+
+  /**
+   * {@link jp.furplag.util.time.lunisolar.EventIterator#previous()}.
+   */
+  @Test
+  public void testPrevious() {
+    EventIterator newMoons = EventIterator.newMoons(Ephemerides.DEFAULT, TO);
+    double latest = newMoons.previous();
+    assertEquals(-1, newMoons.nextIndex());
+    assertEquals(latest, newMoons.next(), 0d);
+    double next = newMoons.next();
+    assertEquals(1, newMoons.nextIndex());
+    assertTrue(latest <= TO && next > TO);
+    assertEquals(next, newMoons.previous(), 0d);
+    assertEquals(latest, newMoons.previous(), 0d);
+    for (int i = 0; i < 1236; i++) {
+      double previous = newMoons.previousMoment();
+      assertEquals(29.53d, latest - previous, .5d);
+      latest = previous;
+    }
+    assertEquals(-1237, newMoons.nextIndex());
+    assertTrue(latest > FROM && newMoons.previousMoment() < FROM);
+    EventIterator solarTerms = EventIterator.solarTerms(Ephemerides.DEFAULT, TO);
+    double winterSolstice = solarTerms.previousMoment();
+    // 1999-12-22, touji ( 270&deg; ) .
+    assertEquals(270d, solarTerms.getAngle(), 0d);
+    latest = winterSolstice;
+    for (int i = 0; i < 24; i++) {
+      double previous = solarTerms.previousMoment();
+      assertEquals(15.22d, latest - previous, .6d);
+      latest = previous;
+    }
+    assertEquals(270d, solarTerms.getAngle(), 0d);
+    for (int i = 0; i < 24; i++) {
+      solarTerms.nextMoment();
+    }
+    assertEquals(winterSolstice, solarTerms.nextMoment(), 1E-6);
+  }
+
+  /**
+   * {@link jp.furplag.util.time.lunisolar.EventIterator#next()}.
+   */
+  @Test
+  public void testTable() throws IOException {
+    File file = File.createTempFile("lunisolar", ".table");
+    try {
+      EphemerisTable.write(file, Ephemerides.CHEBYSHEV, FROM, TO);
+      EventIterator table = EventIterator.newMoons(EphemerisTable.open(file), TO - 60d);
+      EventIterator newMoons = EventIterator.newMoons(Ephemerides.CHEBYSHEV, TO - 60d);
+      for (int i = 0; i < 4; i++) {
+        assertEquals(newMoons.nextMoment(), table.nextMoment(), 1E-8);
+      }
+      // the moments out of the table are searched.
+      assertTrue(table.getIterationCount() > 0);
+      table = EventIterator.solarTerms(EphemerisTable.open(file), FROM + 365d);
+      long iterations = table.getIterationCount();
+      for (int i = 0; i < 24; i++) {
+        table.nextMoment();
+      }
+      assertEquals(iterations, table.getIterationCount());
+    } finally {
+      if (!file.delete()) file.deleteOnExit();
+    }
+  }
+
+  /**
+   * {@link jp.furplag.util.time.lunisolar.EventIterator#remove()}.
+   */
+  @Test
+  public void testUnsupported() {
+    EventIterator newMoons = EventIterator.newMoons(null, TO);
+    try {
+      newMoons.remove();
+      fail("events are not modifiable.");
+    } catch (UnsupportedOperationException e) {}
+    try {
+      EventIterator.solarTerms(null, Double.NaN);
+      fail("julianDay must be finite.");
+    } catch (IllegalArgumentException e) {}
+  }
+}